@@ -0,0 +1,86 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.SalaryStats;
+import com.reliaquest.api.service.EmployeeAnalytics;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the sequential and parallel paths of {@link EmployeeAnalytics} across snapshot sizes. The crossover is the
+ * smallest size where {@code parallel} beats {@code sequential}; use it for
+ * {@code employee.analytics.parallel-threshold}. Parallel results depend on the core count of the host.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeAnalyticsBenchmark {
+
+    private static final String[] TITLES = {
+        "Engineer", "Manager", "Analyst", "Director", "Consultant", "Designer", "Architect", "Specialist"
+    };
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int size;
+
+    @Param({"sequential", "parallel"})
+    String mode;
+
+    List<Employee> employees;
+
+    EmployeeAnalytics analytics;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        employees = IntStream.range(0, size)
+                .mapToObj(i -> Employee.builder()
+                        .id(new UUID(random.nextLong(), random.nextLong()).toString())
+                        .employee_name("Employee " + i)
+                        .employee_salary(random.nextInt(30000, 500000))
+                        .employee_age(random.nextInt(16, 70))
+                        .employee_title(TITLES[random.nextInt(TITLES.length)])
+                        .build())
+                .collect(Collectors.toList());
+        analytics = new EmployeeAnalytics("parallel".equals(mode) ? 0 : Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Employee> search() {
+        return analytics.search(employees, "99");
+    }
+
+    @Benchmark
+    public List<Employee> topTen() {
+        return analytics.topBySalary(employees, 10);
+    }
+
+    @Benchmark
+    public SalaryStats salaryStats() {
+        return analytics.salaryStats(employees);
+    }
+
+    @Benchmark
+    public Map<String, SalaryStats> salaryStatsByTitle() {
+        return analytics.salaryStatsByTitle(employees);
+    }
+}
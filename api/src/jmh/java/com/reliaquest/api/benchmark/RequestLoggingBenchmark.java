@@ -0,0 +1,143 @@
+package com.reliaquest.api.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.logging.RequestLogRateLimiter;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeAnalytics;
+import com.reliaquest.api.service.EmployeeApiService;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Requests per second from 4 threads with the api's request logging set up four ways. Each request is a name search
+ * over 1000 employees, logged the way {@code EmployeeController} and {@code EmployeeApiService} log it: an INFO line
+ * from the controller and a line from the service. {@code off} logs nothing. {@code sync} is the old setup, both lines
+ * at INFO written by the calling thread. {@code async} hands the same lines to an {@code AsyncAppender}.
+ * {@code async-limited} is the shipped logback-spring.xml: the service line at DEBUG and the controller lines limited
+ * by {@link RequestLogRateLimiter}. Lines go to /dev/null through Spring Boot's console pattern, so the numbers show
+ * formatting and write cost without a terminal in the way. A real console blocks on the pipe, which is what the async
+ * appender takes off the request thread; with a sink this cheap and few cores, its writer thread mostly competes with
+ * the requests, so {@code async} alone can score below {@code sync}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 12345 --- [employee-api] [%15.15t] %-40.40logger{39} : %m%n";
+
+    @Param({"off", "sync", "async", "async-limited"})
+    String logging;
+
+    List<Employee> employees;
+
+    EmployeeAnalytics analytics;
+
+    Logger controllerLogger;
+
+    Logger serviceLogger;
+
+    LoggerContext context;
+
+    @Setup
+    public void setUp() throws FileNotFoundException {
+        SplittableRandom random = new SplittableRandom(42);
+        employees = IntStream.range(0, 1000)
+                .mapToObj(i -> Employee.builder()
+                        .id(new UUID(random.nextLong(), random.nextLong()).toString())
+                        .employee_name("Employee " + i)
+                        .employee_salary(random.nextInt(30000, 500000))
+                        .build())
+                .collect(Collectors.toList());
+        analytics = new EmployeeAnalytics(Integer.MAX_VALUE);
+
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel("off".equals(logging) ? Level.OFF : Level.INFO);
+        if (!"off".equals(logging)) {
+            root.addAppender(logging.startsWith("async") ? async(devNull()) : devNull());
+        }
+        if ("async-limited".equals(logging)) {
+            RequestLogRateLimiter limiter = new RequestLogRateLimiter();
+            limiter.setContext(context);
+            limiter.start();
+            context.addTurboFilter(limiter);
+        }
+        controllerLogger = LoggerFactory.getLogger(EmployeeController.class);
+        serviceLogger = LoggerFactory.getLogger(EmployeeApiService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public List<Employee> search() {
+        String searchString = "99";
+        controllerLogger.info("getEmployeesByNameSearch :{}", searchString);
+        if ("async-limited".equals(logging)) {
+            serviceLogger.debug("getEmployeesByNameSearch:{}", searchString);
+        } else {
+            serviceLogger.info("getEmployeesByNameSearch:{}", searchString);
+        }
+        return analytics.search(employees, searchString);
+    }
+
+    private Appender<ILoggingEvent> devNull() throws FileNotFoundException {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(new FileOutputStream("/dev/null"));
+        appender.start();
+        return appender;
+    }
+
+    private Appender<ILoggingEvent> async(Appender<ILoggingEvent> delegate) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(8192);
+        appender.setNeverBlock(true);
+        appender.addAppender(delegate);
+        appender.start();
+        return appender;
+    }
+}
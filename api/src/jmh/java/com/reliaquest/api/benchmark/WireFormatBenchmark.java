@@ -0,0 +1,107 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Parse cost of the full employee list response in each wire format the api can negotiate, with and without gzip.
+ * The encoded size of each combination is printed during setup, so one run reports both bytes on the wire and CPU.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"json", "smile", "cbor"})
+    String format;
+
+    @Param({"identity", "gzip"})
+    String encoding;
+
+    ObjectMapper mapper;
+
+    byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = mapperFor(format);
+        SplittableRandom random = new SplittableRandom(42);
+        EmployeeResponse response = new EmployeeResponse();
+        response.setData(IntStream.range(0, size)
+                .mapToObj(i -> Employee.builder()
+                        .id(new UUID(random.nextLong(), random.nextLong()).toString())
+                        .employee_name("Employee Number " + i)
+                        .employee_salary(random.nextInt(30000, 500000))
+                        .employee_age(random.nextInt(16, 70))
+                        .employee_title("Senior Principal Title " + random.nextInt(500))
+                        .employee_email("user" + i + "@company.com")
+                        .build())
+                .collect(Collectors.toList()));
+        byte[] encoded = mapper.writeValueAsBytes(response);
+        payload = "gzip".equals(encoding) ? gzip(encoded) : encoded;
+        System.out.printf(
+                "%nwire bytes size=%d format=%s encoding=%s: %d (%.1f bytes/employee)%n",
+                size, format, encoding, payload.length, (double) payload.length / size);
+    }
+
+    @Benchmark
+    public List<Employee> parse() throws IOException {
+        try (InputStream in = "gzip".equals(encoding)
+                ? new GZIPInputStream(new ByteArrayInputStream(payload))
+                : new ByteArrayInputStream(payload)) {
+            return mapper.readValue(in, EmployeeResponse.class).getData();
+        }
+    }
+
+    /*
+     * Same builder Spring uses for its message converters, so mapper configuration matches the RestTemplate.
+     */
+    private static ObjectMapper mapperFor(String format) {
+        if ("smile".equals(format)) {
+            return Jackson2ObjectMapperBuilder.smile().build();
+        }
+        if ("cbor".equals(format)) {
+            return Jackson2ObjectMapperBuilder.cbor().build();
+        }
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
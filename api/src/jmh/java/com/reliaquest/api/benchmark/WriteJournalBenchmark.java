@@ -0,0 +1,105 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.WriteJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Journalled writes per second from 16 concurrent writers, by group commit batch size. Each write is two durable
+ * appends, as in {@code EmployeeApiService}. A batch of 1 syncs as soon as the leader gets the lock; larger batches let
+ * the leader wait up to {@code maxDelayMillis} for more writers to join its fsync. Appends per sync are printed at the
+ * end of each trial. Results depend heavily on the disk the temp directory lives on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Threads(16)
+@Fork(1)
+public class WriteJournalBenchmark {
+
+    @Param({"1", "4", "16", "64"})
+    int maxBatch;
+
+    @Param({"0", "1"})
+    long maxDelayMillis;
+
+    Path directory;
+
+    WriteJournal journal;
+
+    EmployeeInput input;
+
+    SimpleMeterRegistry registry;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("write-journal-benchmark");
+        journal = new WriteJournal(
+                directory.resolve("write.journal"),
+                Jackson2ObjectMapperBuilder.json().build(),
+                maxBatch,
+                Duration.ofMillis(maxDelayMillis),
+                DataSize.ofMegabytes(64));
+        registry = new SimpleMeterRegistry();
+        journal.bindTo(registry);
+        input = EmployeeInput.builder()
+                .name("Employee Number 1")
+                .salary(120000)
+                .age(35)
+                .title("Senior Principal Title 42")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf(
+                "%nappends per sync maxBatch=%d maxDelayMillis=%d: %.1f%n",
+                maxBatch,
+                maxDelayMillis,
+                registry.get("employee.journal.appends").functionCounter().count()
+                        / registry.get("employee.journal.syncs")
+                                .functionCounter()
+                                .count());
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder())
+                    .forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /*
+     * One journalled write: the operation before it is sent and its acknowledgement after.
+     */
+    @Benchmark
+    public void write() {
+        String key = UUID.randomUUID().toString();
+        journal.append(WriteJournal.Entry.create(key, input));
+        journal.append(WriteJournal.Entry.ack(key, null));
+    }
+}
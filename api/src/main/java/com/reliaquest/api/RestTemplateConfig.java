@@ -1,15 +1,90 @@
 package com.reliaquest.api;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.io.IOException;
+import java.util.List;
+import org.apache.hc.client5.http.classic.ExecChainHandler;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.http.HttpException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
 
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    public static final MediaType APPLICATION_CBOR = MediaType.valueOf("application/cbor");
+
+    /*
+     * Apache HttpClient sends Accept-Encoding: gzip and inflates compressed responses transparently. The builder
+     * observes every exchange as http.client.requests; within it, employee.upstream.connection covers leasing a pooled
+     * connection (and opening it when there is none) and employee.upstream.exchange covers sending the request and
+     * waiting for the response headers. Whatever the client span spends outside them is mostly reading and parsing the
+     * body.
+     */
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder.build();
+    public RestTemplate restTemplate(
+            RestTemplateBuilder builder,
+            ObservationRegistry observationRegistry,
+            @Value("${employee.server.wire-format:json}") String wireFormat) {
+        MediaType preferred =
+                switch (wireFormat) {
+                    case "smile" -> APPLICATION_SMILE;
+                    case "cbor" -> APPLICATION_CBOR;
+                    case "json" -> MediaType.APPLICATION_JSON;
+                    default -> throw new IllegalArgumentException("Unsupported wire format: " + wireFormat);
+                };
+        builder = builder.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .addExecInterceptorBefore(
+                        ChainElement.CONNECT.name(),
+                        "observe-connection",
+                        observe("employee.upstream.connection", observationRegistry))
+                .addExecInterceptorBefore(
+                        ChainElement.MAIN_TRANSPORT.name(),
+                        "observe-exchange",
+                        observe("employee.upstream.exchange", observationRegistry))
+                .build()));
+        if (MediaType.APPLICATION_JSON.equals(preferred)) {
+            return builder.build();
+        }
+        return builder.additionalInterceptors(preferWireFormat(preferred)).build();
+    }
+
+    private static ExecChainHandler observe(String name, ObservationRegistry observationRegistry) {
+        return (request, scope, chain) -> {
+            Observation observation = Observation.start(name, observationRegistry);
+            try (Observation.Scope ignored = observation.openScope()) {
+                return chain.proceed(request, scope);
+            } catch (IOException | HttpException | RuntimeException e) {
+                observation.error(e);
+                throw e;
+            } finally {
+                observation.stop();
+            }
+        };
+    }
+
+    /*
+     * Only rewrites requests whose response is read as a Jackson object, i.e. where JSON is the first accepted type.
+     * Raw String bodies and the event stream keep their original Accept header. JSON stays acceptable as a fallback.
+     */
+    private static ClientHttpRequestInterceptor preferWireFormat(MediaType preferred) {
+        List<MediaType> accept = List.of(preferred, MediaType.valueOf("application/json;q=0.9"));
+        return (request, body, execution) -> {
+            List<MediaType> current = request.getHeaders().getAccept();
+            if (!current.isEmpty() && MediaType.APPLICATION_JSON.equalsTypeAndSubtype(current.get(0))) {
+                request.getHeaders().setAccept(accept);
+            }
+            return execution.execute(request, body);
+        };
     }
 }
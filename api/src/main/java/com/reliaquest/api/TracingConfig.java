@@ -0,0 +1,38 @@
+package com.reliaquest.api;
+
+import com.reliaquest.tracing.TraceRecorder;
+import com.reliaquest.tracing.TracesEndpoint;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.backoff.Sleeper;
+
+@Configuration
+public class TracingConfig {
+
+    /*
+     * @Retryable backs off with this sleeper, so time spent waiting out the mock server's rate limit shows up in a trace
+     * as employee.retry.backoff rather than as a gap between attempts. The retry infrastructure asks for the sleeper
+     * before the observation registry has been configured, so the registry is only looked up when sleeping.
+     */
+    @Bean
+    public static Sleeper retrySleeper(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return backOffPeriod -> Observation.createNotStarted(
+                        "employee.retry.backoff", observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))
+                .lowCardinalityKeyValue("period", Long.toString(backOffPeriod))
+                .observeChecked(() -> Thread.sleep(backOffPeriod));
+    }
+
+    @Bean
+    public TraceRecorder traceRecorder(@Value("${employee.tracing.capacity:1000}") int capacity) {
+        return new TraceRecorder(capacity);
+    }
+
+    @Bean
+    public TracesEndpoint tracesEndpoint(TraceRecorder traceRecorder) {
+        return new TracesEndpoint(traceRecorder);
+    }
+}
@@ -1,16 +1,34 @@
 package com.reliaquest.api.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.AsyncCreateStatus;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.Page;
+import com.reliaquest.api.model.SalaryHistogram;
+import com.reliaquest.api.model.SalaryStats;
+import com.reliaquest.api.service.AsyncEmployeeCreator;
+import com.reliaquest.api.service.EmployeeAnalytics;
 import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.service.UpstreamPriority;
+import com.reliaquest.api.service.UpstreamScheduler;
 import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
 public class EmployeeController implements IEmployeeController<Employee, EmployeeInput> {
@@ -20,12 +38,84 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
     @Autowired
     private IEmployeeService<Employee, EmployeeInput> employeeService;
 
+    @Autowired
+    private EmployeeAnalytics analytics;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UpstreamScheduler scheduler;
+
+    @Autowired
+    private AsyncEmployeeCreator asyncCreator;
+
+    @Value("${employee.stream.page-size:500}")
+    private int streamPageSize;
+
     @Override
     public ResponseEntity<List<Employee>> getAllEmployees() {
         logger.info("getAllEmployees");
         return ResponseEntity.ok(employeeService.getAllEmployees());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<Page<Employee>> getEmployeePage(
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String order,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        logger.info("getEmployeePage sort:{} order:{} limit:{}", sort, order, limit);
+        return ResponseEntity.ok(employeeService.getEmployeePage(sort, order, cursor, limit));
+    }
+
+    /*
+     * Streams every employee as one JSON array, fetching the list from the mock server a page at a time so only the
+     * current page is ever held in memory. Page fetches are bulk traffic and yield to interactive calls.
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamEmployees(
+            @RequestParam(defaultValue = "id") String sort, @RequestParam(defaultValue = "asc") String order) {
+        logger.info("streamEmployees sort:{} order:{}", sort, order);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                String cursor = null;
+                do {
+                    String pageCursor = cursor;
+                    Page<Employee> page = scheduler.runAs(
+                            UpstreamPriority.BULK,
+                            () -> employeeService.getEmployeePage(sort, order, pageCursor, streamPageSize));
+                    for (Employee employee : page.getItems()) {
+                        objectMapper.writeValue(generator, employee);
+                    }
+                    generator.flush();
+                    cursor = page.getNextCursor();
+                } while (cursor != null);
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/analytics/salary")
+    public ResponseEntity<SalaryStats> getSalaryStats() {
+        logger.info("getSalaryStats");
+        return ResponseEntity.ok(analytics.salaryStats(employeeService.getAllEmployees()));
+    }
+
+    @GetMapping("/analytics/salary/histogram")
+    public ResponseEntity<SalaryHistogram> getSalaryHistogram(@RequestParam(defaultValue = "10") int buckets) {
+        logger.info("getSalaryHistogram buckets:{}", buckets);
+        return ResponseEntity.ok(analytics.salaryHistogram(employeeService.getAllEmployees(), buckets));
+    }
+
+    @GetMapping("/analytics/salary/by-title")
+    public ResponseEntity<Map<String, SalaryStats>> getSalaryStatsByTitle() {
+        logger.info("getSalaryStatsByTitle");
+        return ResponseEntity.ok(analytics.salaryStatsByTitle(employeeService.getAllEmployees()));
+    }
+
     @Override
     @GetMapping("/search/{searchString}")
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString) {
@@ -57,6 +147,33 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         return ResponseEntity.ok(employeeService.createEmployee(employeeInput));
     }
 
+    /*
+     * Accepts the create without waiting for the mock server; progress is reported under the returned location.
+     */
+    @PostMapping("/async")
+    public ResponseEntity<AsyncCreateStatus> createEmployeeAsync(@RequestBody EmployeeInput employeeInput) {
+        logger.info("createEmployeeAsync:{}", employeeInput.getName());
+        AsyncCreateStatus status = asyncCreator.accept(employeeInput);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{trackingId}")
+                        .buildAndExpand(status.getTrackingId())
+                        .toUri())
+                .body(status);
+    }
+
+    @GetMapping("/async")
+    public ResponseEntity<Map<AsyncCreateStatus.State, Integer>> getAsyncCreateSummary() {
+        logger.info("getAsyncCreateSummary");
+        return ResponseEntity.ok(asyncCreator.summary());
+    }
+
+    @GetMapping("/async/{trackingId}")
+    public ResponseEntity<AsyncCreateStatus> getAsyncCreateStatus(@PathVariable String trackingId) {
+        logger.info("getAsyncCreateStatus trackingId:{}", trackingId);
+        return ResponseEntity.of(asyncCreator.status(trackingId));
+    }
+
     @Override
     public ResponseEntity<String> deleteEmployeeById(String id) {
         logger.info("deleteEmployeeById id:{}", id);
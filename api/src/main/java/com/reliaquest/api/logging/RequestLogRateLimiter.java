@@ -0,0 +1,60 @@
+package com.reliaquest.api.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Marker;
+
+/**
+ * Logback turbo filter letting through at most {@code permitsPerSecond} INFO-and-below events a second from loggers
+ * under {@code loggerPrefix}, the per-request lines, and dropping the rest before they are formatted. WARN and ERROR
+ * always pass. When a second with dropped lines is followed by more traffic, the number dropped is logged once.
+ * Configured in logback-spring.xml.
+ */
+public class RequestLogRateLimiter extends TurboFilter {
+
+    private String loggerPrefix = "com.reliaquest.api.controller";
+    private int permitsPerSecond = 20;
+
+    private final AtomicLong second = new AtomicLong();
+    private final AtomicInteger permitted = new AtomicInteger();
+    private final AtomicInteger suppressed = new AtomicInteger();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        /* A null format is an isXxxEnabled() check rather than an event. */
+        if (format == null
+                || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())
+                || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        long now = System.nanoTime() / 1_000_000_000L;
+        long current = second.get();
+        if (now != current && second.compareAndSet(current, now)) {
+            permitted.set(0);
+            int dropped = suppressed.getAndSet(0);
+            if (dropped > 0) {
+                logger.getLoggerContext()
+                        .getLogger(RequestLogRateLimiter.class)
+                        .info("Suppressed {} request log lines over the limit of {}/s", dropped, permitsPerSecond);
+            }
+        }
+        if (permitted.incrementAndGet() <= permitsPerSecond) {
+            return FilterReply.NEUTRAL;
+        }
+        suppressed.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setPermitsPerSecond(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+}
@@ -0,0 +1,25 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AsyncCreateStatus {
+
+    public enum State {
+        PENDING,
+        CREATED,
+        FAILED
+    }
+
+    String trackingId;
+
+    State state;
+
+    int attempts;
+
+    Employee employee;
+
+    String error;
+}
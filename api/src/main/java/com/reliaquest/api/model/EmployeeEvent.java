@@ -0,0 +1,16 @@
+package com.reliaquest.api.model;
+
+import lombok.Data;
+
+@Data
+public class EmployeeEvent {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    Type type;
+
+    Employee employee;
+}
@@ -1,5 +1,7 @@
 package com.reliaquest.api.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 import lombok.Data;
 
@@ -7,6 +9,11 @@ import lombok.Data;
 @Builder
 public class EmployeeInput {
 
+    /* Assigned by the api, never by its callers, so that a create can be sent to the server that owns the id. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String id;
+
     private String name;
 
     private Integer salary;
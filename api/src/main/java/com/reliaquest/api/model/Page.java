@@ -0,0 +1,12 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class Page<T> {
+
+    List<T> items;
+
+    String nextCursor;
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.api.model;
+
+import lombok.Data;
+
+@Data
+public class PageResponse<T> {
+
+    Page<T> data;
+}
@@ -0,0 +1,17 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SalaryHistogram {
+
+    int min;
+
+    int max;
+
+    int bucketWidth;
+
+    long[] counts;
+}
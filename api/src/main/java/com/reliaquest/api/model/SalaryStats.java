@@ -0,0 +1,18 @@
+package com.reliaquest.api.model;
+
+import java.util.Map;
+import lombok.Data;
+
+@Data
+public class SalaryStats {
+
+    int count;
+
+    Integer min;
+
+    Integer max;
+
+    Double average;
+
+    Map<String, Integer> percentiles;
+}
@@ -0,0 +1,310 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.AsyncCreateStatus;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Write-behind creates. {@link #accept(EmployeeInput)} journals the input and returns a tracking id straight away; a
+ * background thread sends up to {@code employee.async.batch-size} creates at a time as bulk upstream traffic. When the
+ * server answers 429 the rest of the batch goes back to the front of the queue and the flusher waits out
+ * {@code employee.async.backoff} before trying again, so throttling delays the work instead of the caller.
+ *
+ * <p>Statuses are kept in memory for the most recent {@code employee.async.retained} creates: once over that, the
+ * creates settled longest ago are forgotten first, and pending ones are never dropped. On startup every create or
+ * delete left open in the {@link WriteJournal}, whether accepted here or cut short mid-retry in
+ * {@link EmployeeApiService}, is sent again under its original idempotency key. Recovered creates are tracked by that
+ * key.
+ */
+@Component
+public class AsyncEmployeeCreator implements MeterBinder {
+
+    Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final EmployeeApiService employeeService;
+    private final WriteJournal journal;
+    private final int batchSize;
+    private final Duration backoff;
+    private final LinkedBlockingDeque<String> queue = new LinkedBlockingDeque<>();
+    private final LinkedBlockingDeque<WriteJournal.Entry> deletes = new LinkedBlockingDeque<>();
+    private final int retained;
+    private final Map<String, Pending> statuses = new HashMap<>();
+    /* Tracking ids of settled creates, oldest first; the order they are forgotten in. */
+    private final ArrayDeque<String> settled = new ArrayDeque<>();
+    private final AtomicLong throttled = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AsyncEmployeeCreator(
+            EmployeeApiService employeeService,
+            WriteJournal journal,
+            @Value("${employee.async.batch-size:10}") int batchSize,
+            @Value("${employee.async.backoff:31s}") Duration backoff,
+            @Value("${employee.async.retained:10000}") int retained) {
+        this.employeeService = employeeService;
+        this.journal = journal;
+        this.batchSize = batchSize;
+        this.backoff = backoff;
+        this.retained = retained;
+    }
+
+    /*
+     * Queues the operations the journal still has open.
+     */
+    @PostConstruct
+    public void recover() {
+        List<WriteJournal.Entry> pending = journal.pending();
+        for (WriteJournal.Entry entry : pending) {
+            if (entry.kind() == WriteJournal.Kind.CREATE) {
+                register(entry.key(), entry.input());
+            } else {
+                deletes.offerLast(entry);
+            }
+        }
+        if (!pending.isEmpty()) {
+            logger.info("Recovered {} unacknowledged writes from the journal", pending.size());
+        }
+    }
+
+    public AsyncCreateStatus accept(EmployeeInput input) {
+        String trackingId = UUID.randomUUID().toString();
+        journal.append(WriteJournal.Entry.create(trackingId, input));
+        return register(trackingId, input);
+    }
+
+    public Optional<AsyncCreateStatus> status(String trackingId) {
+        synchronized (statuses) {
+            return Optional.ofNullable(statuses.get(trackingId)).map(pending -> copy(pending.status));
+        }
+    }
+
+    /*
+     * Number of retained creates in each state.
+     */
+    public Map<AsyncCreateStatus.State, Integer> summary() {
+        Map<AsyncCreateStatus.State, Integer> counts = new EnumMap<>(AsyncCreateStatus.State.class);
+        for (AsyncCreateStatus.State state : AsyncCreateStatus.State.values()) {
+            counts.put(state, 0);
+        }
+        synchronized (statuses) {
+            statuses.values().forEach(pending -> counts.merge(pending.status.getState(), 1, Integer::sum));
+        }
+        return counts;
+    }
+
+    /*
+     * Sends the next batch, waiting up to the timeout for work to arrive. Returns false when upstream pushed back and
+     * the unsent creates were re-queued. Any other exception also re-queues them before it is rethrown.
+     */
+    public boolean flush(Duration timeout) throws InterruptedException {
+        if (!replayDeletes()) {
+            return false;
+        }
+        String first = queue.pollFirst(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return true;
+        }
+        List<String> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+
+        int sent = 0;
+        try {
+            for (; sent < batch.size(); sent++) {
+                if (!send(batch.get(sent))) {
+                    requeue(batch, sent);
+                    return false;
+                }
+            }
+        } catch (RuntimeException e) {
+            requeue(batch, sent);
+            throw e;
+        }
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "employee-async-create");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.async.pending", queue, LinkedBlockingDeque::size)
+                .description("Accepted creates not yet sent upstream")
+                .register(registry);
+        FunctionCounter.builder("employee.async.throttled", throttled, AtomicLong::get)
+                .description("Batches cut short by upstream rate limiting or errors")
+                .register(registry);
+    }
+
+    /*
+     * Anything unexpected, e.g. the journal failing to write, is logged and retried after the backoff, as losing this
+     * thread would leave every accepted create pending for good.
+     */
+    private void run() {
+        while (running) {
+            try {
+                if (!flush(Duration.ofSeconds(1))) {
+                    Thread.sleep(backoff.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Async create worker failed, retrying after {}", backoff, e);
+                try {
+                    Thread.sleep(backoff.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void requeue(List<String> batch, int from) {
+        for (int i = batch.size() - 1; i >= from; i--) {
+            queue.offerFirst(batch.get(i));
+        }
+    }
+
+    /*
+     * One attempt at creating the employee. Rejected input fails for good; throttling and transport or server errors
+     * leave it pending.
+     */
+    private boolean send(String trackingId) {
+        Pending pending;
+        synchronized (statuses) {
+            pending = statuses.get(trackingId);
+            pending.status.setAttempts(pending.status.getAttempts() + 1);
+        }
+        try {
+            Employee employee = employeeService.createEmployee(pending.input, UpstreamPriority.BULK, trackingId);
+            journal.append(WriteJournal.Entry.ack(trackingId, employee));
+            synchronized (statuses) {
+                pending.status.setEmployee(employee);
+                settle(trackingId, AsyncCreateStatus.State.CREATED);
+            }
+            return true;
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            throttled.incrementAndGet();
+            logger.info("Async create throttled, backing off {} with {} pending", backoff, queue.size() + 1);
+            return false;
+        } catch (HttpClientErrorException e) {
+            String error = e.getStatusCode().value() + " " + e.getStatusText();
+            journal.append(WriteJournal.Entry.fail(trackingId, error));
+            synchronized (statuses) {
+                pending.status.setError(error);
+                settle(trackingId, AsyncCreateStatus.State.FAILED);
+            }
+            return true;
+        } catch (RestClientException e) {
+            throttled.incrementAndGet();
+            logger.warn("Async create failed, retrying after {}: {}", backoff, e.getMessage());
+            return false;
+        }
+    }
+
+    /*
+     * Sends recovered deletes ahead of any create. A delete the server rejects, e.g. because the name is gone, is
+     * settled all the same.
+     */
+    private boolean replayDeletes() {
+        for (WriteJournal.Entry entry = deletes.peekFirst(); entry != null; entry = deletes.peekFirst()) {
+            try {
+                employeeService.deleteEmployeeById(entry.name(), UpstreamPriority.BULK, entry.key());
+                journal.append(WriteJournal.Entry.ack(entry.key(), null));
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                throttled.incrementAndGet();
+                return false;
+            } catch (HttpClientErrorException e) {
+                journal.append(
+                        WriteJournal.Entry.fail(entry.key(), e.getStatusCode().value() + " " + e.getStatusText()));
+            } catch (RestClientException e) {
+                throttled.incrementAndGet();
+                logger.warn("Recovered delete failed, retrying after {}: {}", backoff, e.getMessage());
+                return false;
+            }
+            deletes.pollFirst();
+        }
+        return true;
+    }
+
+    private AsyncCreateStatus register(String trackingId, EmployeeInput input) {
+        AsyncCreateStatus status = new AsyncCreateStatus();
+        status.setTrackingId(trackingId);
+        status.setState(AsyncCreateStatus.State.PENDING);
+        synchronized (statuses) {
+            statuses.put(trackingId, new Pending(input, status));
+        }
+        queue.offerLast(trackingId);
+        return copy(status);
+    }
+
+    /*
+     * Records the final state and forgets the creates settled longest ago while over the retained count. Call holding
+     * the statuses lock.
+     */
+    private void settle(String trackingId, AsyncCreateStatus.State state) {
+        statuses.get(trackingId).status.setState(state);
+        settled.offerLast(trackingId);
+        while (statuses.size() > retained && !settled.isEmpty()) {
+            statuses.remove(settled.pollFirst());
+        }
+    }
+
+    private static AsyncCreateStatus copy(AsyncCreateStatus status) {
+        AsyncCreateStatus copy = new AsyncCreateStatus();
+        copy.setTrackingId(status.getTrackingId());
+        copy.setState(status.getState());
+        copy.setAttempts(status.getAttempts());
+        copy.setEmployee(status.getEmployee());
+        copy.setError(status.getError());
+        return copy;
+    }
+
+    private record Pending(EmployeeInput input, AsyncCreateStatus status) {}
+}
@@ -0,0 +1,168 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.SalaryHistogram;
+import com.reliaquest.api.model.SalaryStats;
+import io.micrometer.observation.annotation.Observed;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Search, top-K and salary statistics over an in-memory employee list. Lists at or above the parallel threshold are
+ * processed with parallel streams on the common fork-join pool; smaller lists stay sequential, where the cost of
+ * splitting and merging outweighs the gain. Salaries are reduced as primitive {@link IntStream}s to avoid boxing.
+ *
+ * <p>The default threshold of 50000 is a placeholder, not a measured crossover: on the single-core machine
+ * {@code EmployeeAnalyticsBenchmark} has been run on, the parallel variant never won. Run the benchmark on the target
+ * hardware and set {@code employee.analytics.parallel-threshold} to the size where the parallel variant starts to win.
+ */
+@Component
+@Observed(name = "employee.analytics")
+public class EmployeeAnalytics {
+
+    private static final int[] PERCENTILES = {50, 75, 90, 95, 99};
+
+    private static final Comparator<Employee> BY_SALARY =
+            Comparator.comparing(Employee::getEmployee_salary, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final int parallelThreshold;
+
+    public EmployeeAnalytics(@Value("${employee.analytics.parallel-threshold:50000}") int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public List<Employee> search(List<Employee> employees, String fragment) {
+        return stream(employees)
+                .filter(e ->
+                        e.getEmployee_name() != null && e.getEmployee_name().contains(fragment))
+                .collect(Collectors.toList());
+    }
+
+    /*
+     * Keeps a bounded min-heap of k candidates per fork, so the cost is O(n log k) rather than a full sort.
+     */
+    public List<Employee> topBySalary(List<Employee> employees, int k) {
+        PriorityQueue<Employee> heap = stream(employees)
+                .filter(e -> e.getEmployee_salary() != null)
+                .collect(Collector.of(
+                        () -> new PriorityQueue<>(k + 1, BY_SALARY),
+                        (queue, employee) -> offer(queue, employee, k),
+                        (left, right) -> {
+                            right.forEach(employee -> offer(left, employee, k));
+                            return left;
+                        }));
+        List<Employee> top = new ArrayList<>(heap);
+        top.sort(BY_SALARY.reversed());
+        return top;
+    }
+
+    public Integer highestSalary(List<Employee> employees) {
+        IntSummaryStatistics statistics = salaryStream(employees).summaryStatistics();
+        return statistics.getCount() == 0 ? null : statistics.getMax();
+    }
+
+    public SalaryStats salaryStats(List<Employee> employees) {
+        int[] salaries = salaries(employees);
+        if (salaries.length >= parallelThreshold) {
+            Arrays.parallelSort(salaries);
+        } else {
+            Arrays.sort(salaries);
+        }
+        SalaryStats stats = summarize(ints(salaries).summaryStatistics());
+        if (salaries.length > 0) {
+            Map<String, Integer> percentiles = new LinkedHashMap<>();
+            for (int percentile : PERCENTILES) {
+                int rank = (int) Math.ceil(percentile / 100.0 * salaries.length);
+                percentiles.put("p" + percentile, salaries[Math.max(rank, 1) - 1]);
+            }
+            stats.setPercentiles(percentiles);
+        }
+        return stats;
+    }
+
+    public SalaryHistogram salaryHistogram(List<Employee> employees, int buckets) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("buckets must be positive");
+        }
+        int[] salaries = salaries(employees);
+        IntSummaryStatistics range = ints(salaries).summaryStatistics();
+        if (range.getCount() == 0) {
+            return new SalaryHistogram(0, 0, 0, new long[buckets]);
+        }
+        int min = range.getMin();
+        int width = Math.max(1, (int) (((long) range.getMax() - min) / buckets + 1));
+        long[] counts = ints(salaries)
+                .collect(
+                        () -> new long[buckets],
+                        (acc, salary) -> acc[Math.min((salary - min) / width, buckets - 1)]++,
+                        (left, right) -> Arrays.setAll(left, i -> left[i] + right[i]));
+        return new SalaryHistogram(min, range.getMax(), width, counts);
+    }
+
+    public Map<String, SalaryStats> salaryStatsByTitle(List<Employee> employees) {
+        Map<String, IntSummaryStatistics> byTitle = employees.size() >= parallelThreshold
+                ? employees.parallelStream()
+                        .filter(e -> e.getEmployee_title() != null && e.getEmployee_salary() != null)
+                        .collect(Collectors.groupingByConcurrent(
+                                Employee::getEmployee_title, Collectors.summarizingInt(Employee::getEmployee_salary)))
+                : employees.stream()
+                        .filter(e -> e.getEmployee_title() != null && e.getEmployee_salary() != null)
+                        .collect(Collectors.groupingBy(
+                                Employee::getEmployee_title, Collectors.summarizingInt(Employee::getEmployee_salary)));
+        Map<String, SalaryStats> result = new TreeMap<>();
+        byTitle.forEach((title, statistics) -> result.put(title, summarize(statistics)));
+        return result;
+    }
+
+    private static void offer(PriorityQueue<Employee> queue, Employee employee, int k) {
+        queue.offer(employee);
+        if (queue.size() > k) {
+            queue.poll();
+        }
+    }
+
+    private static SalaryStats summarize(IntSummaryStatistics statistics) {
+        SalaryStats stats = new SalaryStats();
+        stats.setCount((int) statistics.getCount());
+        if (statistics.getCount() > 0) {
+            stats.setMin(statistics.getMin());
+            stats.setMax(statistics.getMax());
+            stats.setAverage(statistics.getAverage());
+        }
+        return stats;
+    }
+
+    private int[] salaries(List<Employee> employees) {
+        return salaryStream(employees).toArray();
+    }
+
+    private IntStream salaryStream(List<Employee> employees) {
+        return stream(employees)
+                .map(Employee::getEmployee_salary)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue);
+    }
+
+    private IntStream ints(int[] values) {
+        IntStream stream = Arrays.stream(values);
+        return values.length >= parallelThreshold ? stream.parallel() : stream;
+    }
+
+    private <T> Stream<T> stream(List<T> list) {
+        return list.size() >= parallelThreshold ? list.parallelStream() : list.stream();
+    }
+}
@@ -1,146 +1,423 @@
 package com.reliaquest.api.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.model.DeleteEmployeeInput;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.Page;
+import com.reliaquest.api.model.PageResponse;
+import com.reliaquest.api.model.SalaryStatsResponse;
 import com.reliaquest.api.model.SingleEmployeeResponse;
-import java.util.Comparator;
+import io.micrometer.observation.annotation.Observed;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.retry.RetryContext;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.retry.annotation.Retryable;
+import org.springframework.retry.support.RetrySynchronizationManager;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @Service
 @EnableRetry
+@Observed(name = "employee.service")
 public class EmployeeApiService implements IEmployeeService<Employee, EmployeeInput> {
 
+    /* Attempts per call, including the first, when the mock server rate limits. */
+    static final int MAX_ATTEMPTS = 5;
+
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private static final ParameterizedTypeReference<PageResponse<Employee>> PAGE_RESPONSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
     Logger logger = LoggerFactory.getLogger(getClass());
 
     @Autowired
     private RestTemplate restTemplate;
 
-    @Value("${employee.server.url}")
-    private String url;
+    @Autowired
+    private EmployeeSnapshot snapshot;
+
+    @Autowired
+    private EmployeeAnalytics analytics;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private UpstreamHedger hedger;
+
+    @Autowired
+    private UpstreamScheduler scheduler;
+
+    @Autowired
+    private WriteJournal journal;
+
+    @Autowired
+    private EmployeeShards shards;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${employee.server.pushdown:true}")
+    private boolean pushdown;
 
     @Override
     @Retryable(
             retryFor = HttpClientErrorException.TooManyRequests.class,
-            maxAttempts = 5,
+            maxAttempts = MAX_ATTEMPTS,
             backoff = @Backoff(delay = 31000, multiplier = 1))
     public List<Employee> getAllEmployees() {
-        logger.info("getAllEmployees");
-        ResponseEntity<EmployeeResponse> response =
-                restTemplate.exchange(url, HttpMethod.GET, null, EmployeeResponse.class);
-        return response.getBody().getData();
+        logger.debug("getAllEmployees");
+        return employees();
     }
 
     @Retryable(
             retryFor = HttpClientErrorException.TooManyRequests.class,
-            maxAttempts = 5,
+            maxAttempts = MAX_ATTEMPTS,
             backoff = @Backoff(delay = 31000, multiplier = 1))
     @Override
-    public List<Employee> getEmployeesByNameSearch(String searchString) {
-        logger.info("getEmployeesByNameSearch:{}", searchString);
-        ResponseEntity<EmployeeResponse> response =
-                restTemplate.exchange(url, HttpMethod.GET, null, EmployeeResponse.class);
+    public Page<Employee> getEmployeePage(String sort, String order, String cursor, int limit) {
+        logger.debug("getEmployeePage sort:{} order:{} limit:{}", sort, order, limit);
+        List<Page<Employee>> pages = scheduler.call(
+                UpstreamPriority.INTERACTIVE,
+                () -> shards.scatter(shard -> {
+                    String pageUrl = UriComponentsBuilder.fromHttpUrl(shard)
+                            .path("/page")
+                            .queryParam("sort", sort)
+                            .queryParam("order", order)
+                            .queryParam("limit", limit)
+                            .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                            .toUriString();
+                    return restTemplate
+                            .exchange(pageUrl, HttpMethod.GET, null, PAGE_RESPONSE_TYPE)
+                            .getBody()
+                            .getData();
+                }));
+        return pages.size() == 1 ? pages.get(0) : mergePages(pages, sort, order, limit);
+    }
 
-        List<Employee> employees = response.getBody().getData();
-        return employees.stream()
-                .filter(e -> e.getEmployee_name().contains(searchString))
-                .collect(Collectors.toList());
+    @Retryable(
+            retryFor = HttpClientErrorException.TooManyRequests.class,
+            maxAttempts = MAX_ATTEMPTS,
+            backoff = @Backoff(delay = 31000, multiplier = 1))
+    @Override
+    public List<Employee> getEmployeesByNameSearch(String searchString) {
+        logger.debug("getEmployeesByNameSearch:{}", searchString);
+        if (pushDown()) {
+            List<List<Employee>> found = scheduler.call(
+                    UpstreamPriority.INTERACTIVE,
+                    () -> shards.scatter(shard -> {
+                        URI searchUri = UriComponentsBuilder.fromHttpUrl(shard)
+                                .path("/search")
+                                .queryParam("name", "{name}")
+                                .encode()
+                                .buildAndExpand(searchString)
+                                .toUri();
+                        return restTemplate
+                                .exchange(searchUri, HttpMethod.GET, null, EmployeeResponse.class)
+                                .getBody()
+                                .getData();
+                    }));
+            return EmployeeShards.merge(found, EmployeeSort.NAME.comparator(false), Integer.MAX_VALUE);
+        }
+        return analytics.search(employees(), searchString);
     }
 
     @Retryable(
             retryFor = HttpClientErrorException.TooManyRequests.class,
-            maxAttempts = 5,
+            maxAttempts = MAX_ATTEMPTS,
             backoff = @Backoff(delay = 31000, multiplier = 1))
     @Override
     public Employee getEmployeeById(String id) {
-        logger.info("getEmployeeById:{}", id);
-        ResponseEntity<SingleEmployeeResponse> response;
-        response = restTemplate.exchange(url + "/" + id, HttpMethod.GET, null, SingleEmployeeResponse.class);
-        return response.getBody().getData();
+        logger.debug("getEmployeeById:{}", id);
+        if (snapshot.isReady()) {
+            return snapshot.findById(id)
+                    .orElseThrow(() -> HttpClientErrorException.create(
+                            HttpStatus.NOT_FOUND, HttpStatus.NOT_FOUND.getReasonPhrase(), null, null, null));
+        }
+        return employeeCache
+                .get(id, this::fetchEmployee)
+                .orElseThrow(() -> HttpClientErrorException.create(
+                        HttpStatus.NOT_FOUND, HttpStatus.NOT_FOUND.getReasonPhrase(), null, null, null));
     }
 
     @Retryable(
             retryFor = HttpClientErrorException.TooManyRequests.class,
-            maxAttempts = 5,
+            maxAttempts = MAX_ATTEMPTS,
             backoff = @Backoff(delay = 31000, multiplier = 1))
     @Override
     public Integer getHighestSalaryOfEmployees() {
-        logger.info("getHighestSalaryOfEmployees");
-        ResponseEntity<EmployeeResponse> response =
-                restTemplate.exchange(url, HttpMethod.GET, null, EmployeeResponse.class);
-        List<Employee> employees = response.getBody().getData();
-        return employees.stream()
-                .max(Comparator.comparing(Employee::getEmployee_salary))
-                .get()
-                .getEmployee_salary();
+        logger.debug("getHighestSalaryOfEmployees");
+        if (pushDown()) {
+            return scheduler
+                    .call(
+                            UpstreamPriority.INTERACTIVE,
+                            () -> shards.scatter(shard -> restTemplate
+                                    .exchange(shard + "/stats/salary", HttpMethod.GET, null, SalaryStatsResponse.class)
+                                    .getBody()
+                                    .getData()
+                                    .getMax()))
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .max(Integer::compare)
+                    .orElse(null);
+        }
+        return analytics.highestSalary(employees());
     }
 
     @Retryable(
             retryFor = HttpClientErrorException.TooManyRequests.class,
-            maxAttempts = 5,
+            maxAttempts = MAX_ATTEMPTS,
             backoff = @Backoff(delay = 31000, multiplier = 1))
     @Override
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        logger.info("getTopTenHighestEarningEmployeeNames");
-        ResponseEntity<EmployeeResponse> response =
-                restTemplate.exchange(url, HttpMethod.GET, null, EmployeeResponse.class);
-        List<Employee> employees = response.getBody().getData();
-        List<String> list = employees.stream()
-                .sorted(Comparator.comparing(Employee::getEmployee_salary))
-                .limit(10)
+        logger.debug("getTopTenHighestEarningEmployeeNames");
+        if (pushDown()) {
+            List<List<Employee>> tops = scheduler.call(
+                    UpstreamPriority.INTERACTIVE,
+                    () -> shards.scatter(shard -> restTemplate
+                            .exchange(shard + "/top?by=salary&k=10", HttpMethod.GET, null, EmployeeResponse.class)
+                            .getBody()
+                            .getData()));
+            return EmployeeShards.merge(tops, EmployeeSort.SALARY.comparator(true), 10).stream()
+                    .map(Employee::getEmployee_name)
+                    .collect(Collectors.toList());
+        }
+        return analytics.topBySalary(employees(), 10).stream()
                 .map(Employee::getEmployee_name)
                 .collect(Collectors.toList());
-        return list;
     }
 
     @Retryable(
             retryFor = HttpClientErrorException.TooManyRequests.class,
-            maxAttempts = 5,
+            maxAttempts = MAX_ATTEMPTS,
             backoff = @Backoff(delay = 31000, multiplier = 1))
     @Override
     public String deleteEmployeeById(String id) {
-        logger.info("deleteEmployeeById:{}", id);
+        logger.debug("deleteEmployeeById:{}", id);
+        String key = idempotencyKey(WriteJournal.Entry::delete, id);
+        try {
+            String deleted = deleteEmployeeById(id, UpstreamPriority.WRITE, key);
+            journal.append(WriteJournal.Entry.ack(key, null));
+            return deleted;
+        } catch (RuntimeException e) {
+            settleFailure(key, e);
+            throw e;
+        }
+    }
 
+    /*
+     * A single delete attempt, without retries. Deletes go by name, so a repeat of one that already succeeded would
+     * remove another employee of the same name; the idempotency key lets the server recognise it. Names are not placed
+     * by the ring, so servers are asked one at a time, in ring order from the name, until one deletes: asking them all
+     * at once could delete an employee of that name on every server.
+     */
+    public String deleteEmployeeById(String id, UpstreamPriority priority, String idempotencyKey) {
         DeleteEmployeeInput input = new DeleteEmployeeInput();
         input.setName(id);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(IDEMPOTENCY_KEY, idempotencyKey);
         HttpEntity<DeleteEmployeeInput> entity = new HttpEntity<>(input, headers);
 
-        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.DELETE, entity, String.class);
-        return response.getBody();
+        String body = null;
+        String deletedFrom = null;
+        for (String shard : shards.inRingOrder(id)) {
+            body = scheduler
+                    .call(priority, () -> restTemplate.exchange(shard, HttpMethod.DELETE, entity, String.class))
+                    .getBody();
+            if (deleted(body)) {
+                deletedFrom = shard;
+                break;
+            }
+        }
+        /* Only that server's employee is gone; an employee of the same name on another server is still there. */
+        if (deletedFrom != null) {
+            snapshot.removeByName(deletedFrom, id);
+        }
+        employeeCache.invalidateByName(id);
+        return body;
     }
 
     @Retryable(
             retryFor = HttpClientErrorException.TooManyRequests.class,
-            maxAttempts = 5,
+            maxAttempts = MAX_ATTEMPTS,
             backoff = @Backoff(delay = 31000, multiplier = 1))
     @Override
     public Employee createEmployee(EmployeeInput employeeInput) {
-        logger.info("createEmployee Current:{}", employeeInput.getName());
+        logger.debug("createEmployee Current:{}", employeeInput.getName());
+        String key = idempotencyKey(WriteJournal.Entry::create, employeeInput);
+        try {
+            Employee employee = createEmployee(employeeInput, UpstreamPriority.WRITE, key);
+            journal.append(WriteJournal.Entry.ack(key, employee));
+            return employee;
+        } catch (RuntimeException e) {
+            settleFailure(key, e);
+            throw e;
+        }
+    }
+
+    /*
+     * A single create attempt, without retries: a 429 is thrown to the caller, which decides when to try again. Every
+     * attempt for the same create carries the same idempotency key. The new employee's id is derived from the key, so
+     * every attempt goes to the same server, the one owning that id.
+     */
+    public Employee createEmployee(EmployeeInput employeeInput, UpstreamPriority priority, String idempotencyKey) {
+        String id = UUID.nameUUIDFromBytes(idempotencyKey.getBytes(StandardCharsets.UTF_8))
+                .toString();
+        EmployeeInput placed = EmployeeInput.builder()
+                .id(id)
+                .name(employeeInput.getName())
+                .salary(employeeInput.getSalary())
+                .age(employeeInput.getAge())
+                .title(employeeInput.getTitle())
+                .build();
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<EmployeeInput> entity = new HttpEntity<>(employeeInput, headers);
-        ResponseEntity<SingleEmployeeResponse> responseEntity =
-                restTemplate.exchange(url, HttpMethod.POST, entity, SingleEmployeeResponse.class);
-        return responseEntity.getBody().getData();
+        headers.set(IDEMPOTENCY_KEY, idempotencyKey);
+        HttpEntity<EmployeeInput> entity = new HttpEntity<>(placed, headers);
+        String shard = shards.forKey(id);
+        ResponseEntity<SingleEmployeeResponse> responseEntity = scheduler.call(
+                priority, () -> restTemplate.exchange(shard, HttpMethod.POST, entity, SingleEmployeeResponse.class));
+        Employee employee = responseEntity.getBody().getData();
+        snapshot.upsert(shard, employee);
+        employeeCache.invalidate(employee.getId());
+        return employee;
+    }
+
+    /*
+     * The idempotency key of the write being attempted. Retries of one call share a retry context, so the key is kept
+     * there and the operation is journalled only on the first attempt.
+     */
+    private <T> String idempotencyKey(BiFunction<String, T, WriteJournal.Entry> entry, T operand) {
+        RetryContext context = RetrySynchronizationManager.getContext();
+        String key = context != null ? (String) context.getAttribute(IDEMPOTENCY_KEY) : null;
+        if (key == null) {
+            key = UUID.randomUUID().toString();
+            if (context != null) {
+                context.setAttribute(IDEMPOTENCY_KEY, key);
+            }
+            journal.append(entry.apply(key, operand));
+        }
+        return key;
+    }
+
+    /*
+     * A rate limited attempt stays open in the journal while retries remain; anything else ends the operation. Were the
+     * process to die before then, the operation is sent again on the next start.
+     */
+    private void settleFailure(String key, RuntimeException e) {
+        RetryContext context = RetrySynchronizationManager.getContext();
+        boolean willRetry = e instanceof HttpClientErrorException.TooManyRequests
+                && context != null
+                && context.getRetryCount() + 1 < MAX_ATTEMPTS;
+        if (!willRetry) {
+            journal.append(WriteJournal.Entry.fail(key, e.getMessage()));
+        }
+    }
+
+    /*
+     * Loads one employee for the cache; a 404 is cached as empty rather than thrown. The server owning the id is asked
+     * first. Employees a server generated at startup were not placed by the ring, so on a 404 the other servers are
+     * asked in turn.
+     */
+    private Optional<Employee> fetchEmployee(String id) {
+        for (String shard : shards.inRingOrder(id)) {
+            try {
+                ResponseEntity<SingleEmployeeResponse> response = scheduler.call(
+                        UpstreamPriority.INTERACTIVE,
+                        () -> hedger.call(
+                                "getEmployeeById",
+                                () -> restTemplate.exchange(
+                                        shard + "/" + id, HttpMethod.GET, null, SingleEmployeeResponse.class)));
+                return Optional.ofNullable(response.getBody().getData());
+            } catch (HttpClientErrorException.NotFound e) {
+                logger.debug("Employee {} not found on {}", id, shard);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /*
+     * Merges one page from every server. Each server was asked for a full page from the same cursor, so the first
+     * limit employees of the merge are exactly the next page of the combined ordering.
+     */
+    private Page<Employee> mergePages(List<Page<Employee>> pages, String sort, String order, int limit) {
+        EmployeeSort ordering = EmployeeSort.from(sort);
+        List<Employee> items = EmployeeShards.merge(
+                pages.stream().map(Page::getItems).collect(Collectors.toList()),
+                ordering.comparator("desc".equalsIgnoreCase(order)),
+                limit);
+        boolean more = pages.stream().anyMatch(page -> page.getNextCursor() != null)
+                || pages.stream().mapToInt(page -> page.getItems().size()).sum() > items.size();
+        Page<Employee> merged = new Page<>();
+        merged.setItems(items);
+        merged.setNextCursor(more && !items.isEmpty() ? ordering.cursorOf(items.get(items.size() - 1)) : null);
+        return merged;
+    }
+
+    /*
+     * Whether a server's delete response reports an employee removed. A body that cannot be read counts as deleted, so
+     * that no further server is asked.
+     */
+    private boolean deleted(String body) {
+        try {
+            return body == null || objectMapper.readTree(body).path("data").asBoolean(true);
+        } catch (JsonProcessingException e) {
+            return true;
+        }
+    }
+
+    /*
+     * Search and aggregates are evaluated on the mock server, so only the result crosses the wire, unless the local
+     * snapshot can answer without any upstream call.
+     */
+    private boolean pushDown() {
+        return pushdown && !snapshot.isReady();
+    }
+
+    /*
+     * Serves the local snapshot while the event streams keep it current, otherwise fetches the list from every server.
+     * A fan-out to all servers is admitted by the scheduler as one call.
+     */
+    private List<Employee> employees() {
+        if (snapshot.isReady()) {
+            return snapshot.getEmployees();
+        }
+        List<List<Employee>> parts = scheduler.call(
+                UpstreamPriority.INTERACTIVE,
+                () -> shards.scatter(shard -> hedger.call(
+                                "getAllEmployees",
+                                () -> restTemplate.exchange(shard, HttpMethod.GET, null, EmployeeResponse.class))
+                        .getBody()
+                        .getData()));
+        return parts.size() == 1
+                ? parts.get(0)
+                : parts.stream().flatMap(List::stream).collect(Collectors.toList());
     }
 }
@@ -0,0 +1,163 @@
+package com.reliaquest.api.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Read-through cache for single employee lookups against the mock server. Caffeine evicts by W-TinyLFU within a memory
+ * budget ({@code employee.cache.max-size}, estimated from the cached strings), so frequently requested ids stay while
+ * one-off lookups are the first to go. Found employees live for {@code employee.cache.ttl}; ids the server answered 404
+ * for are remembered for the shorter {@code employee.cache.negative-ttl}. Hit, miss and eviction counts are published
+ * as the {@code cache.*} meters tagged {@code cache=employee-by-id}.
+ */
+@Component
+public class EmployeeCache implements MeterBinder {
+
+    static final String NAME = "employee-by-id";
+
+    private final AsyncCache<String, Optional<Employee>> cache;
+
+    public EmployeeCache(
+            @Value("${employee.cache.ttl:5m}") Duration ttl,
+            @Value("${employee.cache.negative-ttl:30s}") Duration negativeTtl,
+            @Value("${employee.cache.max-size:16MB}") DataSize maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher(EmployeeCache::weigh)
+                .expireAfter(expiry(ttl, negativeTtl))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /*
+     * Returns the cached lookup for the id, or loads it. The loader returns empty for an id the server does not know;
+     * exceptions (e.g. rate limiting) propagate and leave nothing cached. Only an incomplete future is installed inside
+     * Caffeine's compute: the loader then runs on the calling thread outside it, so a slow upstream call does not hold
+     * the map's lock over other keys. Concurrent lookups of the same id wait for that one load.
+     */
+    public Optional<Employee> get(String id, Function<String, Optional<Employee>> loader) {
+        CompletableFuture<Optional<Employee>> loading = new CompletableFuture<>();
+        CompletableFuture<Optional<Employee>> cached = cache.get(id, (key, executor) -> loading);
+        if (cached != loading) {
+            return await(cached);
+        }
+        try {
+            Optional<Employee> employee = loader.apply(id);
+            loading.complete(employee);
+            return employee;
+        } catch (RuntimeException | Error e) {
+            /*
+             * Caffeine drops the failed entry and anyone waiting on it gets the same exception. It is passed on as the
+             * cause of a cancellation, which Caffeine does not log, so a rate-limited lookup is not logged as a warning.
+             */
+            loading.completeExceptionally(new CancellationException(e.toString()).initCause(e));
+            throw e;
+        }
+    }
+
+    /*
+     * Caches an employee loaded some other way, e.g. from a full listing while warming up.
+     */
+    public void put(Employee employee) {
+        cache.synchronous().put(employee.getId(), Optional.of(employee));
+    }
+
+    public void invalidate(String id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    /*
+     * Deletes go by name upstream, so every cached employee with that name is dropped.
+     */
+    public void invalidateByName(String name) {
+        cache.synchronous().asMap().values().removeIf(employee -> employee.map(Employee::getEmployee_name)
+                .filter(name::equalsIgnoreCase)
+                .isPresent());
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), NAME);
+    }
+
+    private static Optional<Employee> await(CompletableFuture<Optional<Employee>> loading) {
+        try {
+            return loading.join();
+        } catch (CancellationException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /*
+     * Entries expire a fixed time after they were loaded or replaced; reads do not extend their life.
+     */
+    private static Expiry<String, Optional<Employee>> expiry(Duration ttl, Duration negativeTtl) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String id, Optional<Employee> employee, long currentTime) {
+                return (employee.isPresent() ? ttl : negativeTtl).toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(
+                    String id, Optional<Employee> employee, long currentTime, long currentDuration) {
+                return expireAfterCreate(id, employee, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(
+                    String id, Optional<Employee> employee, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    /*
+     * Rough retained size in bytes: entry, Optional and Employee objects plus the compact Latin-1 strings.
+     */
+    private static int weigh(String id, Optional<Employee> employee) {
+        int bytes = 96 + stringSize(id);
+        if (employee.isPresent()) {
+            Employee value = employee.get();
+            bytes += 48
+                    + Stream.of(
+                                    value.getId(),
+                                    value.getEmployee_name(),
+                                    value.getEmployee_title(),
+                                    value.getEmployee_email())
+                            .filter(Objects::nonNull)
+                            .mapToInt(EmployeeCache::stringSize)
+                            .sum();
+        }
+        return bytes;
+    }
+
+    private static int stringSize(String value) {
+        return 40 + value.length();
+    }
+}
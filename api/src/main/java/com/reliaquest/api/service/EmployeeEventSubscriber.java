@@ -0,0 +1,166 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeEvent;
+import com.reliaquest.api.model.EmployeeResponse;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Keeps {@link EmployeeSnapshot} in sync with the mock server. Opens the server's Server-Sent Events stream, loads the
+ * full employee list once the stream is connected, then applies create and delete events as they arrive. Any events
+ * published while the list is loading are buffered by the connection and re-applied afterwards, which is safe because
+ * applying an event is idempotent. With several servers ({@link EmployeeShards}) each has its own stream and worker.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.events.enabled", havingValue = "true")
+public class EmployeeEventSubscriber {
+
+    private static final Duration RATE_LIMITED_DELAY = Duration.ofSeconds(31);
+
+    Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeSnapshot snapshot;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private UpstreamScheduler scheduler;
+
+    @Autowired
+    private EmployeeShards shards;
+
+    @Value("${employee.events.reconnect-delay:5s}")
+    private Duration reconnectDelay;
+
+    private volatile boolean running;
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!workers.isEmpty()) {
+            return;
+        }
+        running = true;
+        List<String> urls = shards.urls();
+        for (int i = 0; i < urls.size(); i++) {
+            String url = urls.get(i);
+            Thread worker = new Thread(() -> run(url), "employee-event-subscriber" + (urls.size() > 1 ? "-" + i : ""));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        workers.clear();
+    }
+
+    private void run(String url) {
+        while (running) {
+            Duration delay = reconnectDelay;
+            try {
+                restTemplate.execute(
+                        url + "/events",
+                        HttpMethod.GET,
+                        request -> request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM)),
+                        response -> {
+                            loadSnapshot(url);
+                            readEvents(
+                                    url,
+                                    new BufferedReader(
+                                            new InputStreamReader(response.getBody(), StandardCharsets.UTF_8)));
+                            return null;
+                        });
+                logger.info("Employee event stream closed by server");
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                logger.warn("Employee event stream rate limited, retrying in {}", RATE_LIMITED_DELAY);
+                delay = RATE_LIMITED_DELAY;
+            } catch (RestClientException e) {
+                if (running) {
+                    logger.warn("Employee event stream unavailable: {}", e.getMessage());
+                }
+            }
+            snapshot.invalidate(url);
+            sleep(delay);
+        }
+    }
+
+    private void loadSnapshot(String url) {
+        EmployeeResponse response =
+                scheduler.call(UpstreamPriority.REFRESH, () -> restTemplate.getForObject(url, EmployeeResponse.class));
+        snapshot.replaceShard(url, response.getData(), shards.size());
+        logger.info(
+                "Employee snapshot loaded with {} employees from {}",
+                response.getData().size(),
+                url);
+    }
+
+    void readEvents(String url, BufferedReader reader) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while (running && (line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (data.length() > 0) {
+                    apply(url, objectMapper.readValue(data.toString(), EmployeeEvent.class));
+                    data.setLength(0);
+                }
+            } else if (line.startsWith("data:")) {
+                if (data.length() > 0) {
+                    data.append('\n');
+                }
+                data.append(line.substring(5).stripLeading());
+            }
+        }
+    }
+
+    private void apply(String url, EmployeeEvent event) {
+        logger.debug(
+                "Employee event {}: {}", event.getType(), event.getEmployee().getId());
+        employeeCache.invalidate(event.getEmployee().getId());
+        switch (event.getType()) {
+            case CREATED -> snapshot.upsert(url, event.getEmployee());
+            case DELETED -> snapshot.remove(event.getEmployee().getId());
+        }
+    }
+
+    private void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.reliaquest.api.service;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The mock server instances employees are spread across, listed in {@code employee.server.urls} (or the single
+ * {@code employee.server.url}). Ids are placed on a consistent-hash ring with {@code employee.server.virtual-nodes}
+ * points per server, so adding or removing a server only moves the ids next to its points rather than reshuffling
+ * every id. Queries that are not about one id are sent to every server in parallel with {@link #scatter(Function)}, and
+ * sorted partial results are combined with {@link #merge(List, Comparator, int)}.
+ */
+@Component
+public class EmployeeShards {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final ContextSnapshotFactory SNAPSHOTS =
+            ContextSnapshotFactory.builder().build();
+
+    private final List<String> urls;
+    private final long[] points;
+    private final int[] owners;
+
+    /* Calls carry the caller's observation, so their spans join the caller's trace. */
+    private final ExecutorService executor = ContextExecutorService.wrap(
+            Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "employee-shard");
+                thread.setDaemon(true);
+                return thread;
+            }),
+            () -> SNAPSHOTS.captureAll());
+
+    public EmployeeShards(
+            @Value("${employee.server.urls:${employee.server.url:}}") List<String> urls,
+            @Value("${employee.server.virtual-nodes:128}") int virtualNodes) {
+        this.urls = urls.stream().filter(url -> !url.isBlank()).distinct().toList();
+        if (this.urls.isEmpty()) {
+            throw new IllegalArgumentException("Set employee.server.urls or employee.server.url");
+        }
+        long[][] ring = new long[this.urls.size() * virtualNodes][];
+        for (int shard = 0; shard < this.urls.size(); shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring[shard * virtualNodes + node] = new long[] {hash(this.urls.get(shard) + "#" + node), shard};
+            }
+        }
+        Arrays.sort(ring, Comparator.comparingLong(point -> point[0]));
+        this.points = Arrays.stream(ring).mapToLong(point -> point[0]).toArray();
+        this.owners = Arrays.stream(ring).mapToInt(point -> (int) point[1]).toArray();
+    }
+
+    public int size() {
+        return urls.size();
+    }
+
+    public List<String> urls() {
+        return urls;
+    }
+
+    /*
+     * The server owning the key: the first ring point at or after the key's hash, wrapping around.
+     */
+    public String forKey(String key) {
+        return urls.get(owners[pointFor(key)]);
+    }
+
+    /*
+     * Every server, in the order the ring visits them from the key onwards. The owner comes first; the rest are where
+     * to look next for an employee that was not placed by the ring.
+     */
+    public List<String> inRingOrder(String key) {
+        LinkedHashSet<String> order = new LinkedHashSet<>();
+        int start = pointFor(key);
+        for (int i = 0; i < points.length && order.size() < urls.size(); i++) {
+            order.add(urls.get(owners[(start + i) % points.length]));
+        }
+        return List.copyOf(order);
+    }
+
+    /*
+     * Runs the call against every server in parallel and returns the results in urls() order. A single server is
+     * called on the caller's thread. The first failure is rethrown as is once all calls have finished.
+     */
+    public <T> List<T> scatter(Function<String, T> call) {
+        if (urls.size() == 1) {
+            return List.of(call.apply(urls.get(0)));
+        }
+        List<CompletableFuture<T>> calls = urls.stream()
+                .map(url -> CompletableFuture.supplyAsync(() -> call.apply(url), executor))
+                .toList();
+        try {
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            Throwable cause = e;
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+        return calls.stream().map(CompletableFuture::join).toList();
+    }
+
+    /*
+     * K-way merge of lists that are each sorted by the comparator, keeping at most limit elements. Costs
+     * O(limit log k) for k lists, as only the head of each list is compared.
+     */
+    public static <T> List<T> merge(List<List<T>> sorted, Comparator<? super T> comparator, int limit) {
+        if (sorted.size() == 1) {
+            List<T> only = sorted.get(0);
+            return only.size() <= limit ? only : only.subList(0, limit);
+        }
+        PriorityQueue<Head<T>> heads =
+                new PriorityQueue<>((left, right) -> comparator.compare(left.value(), right.value()));
+        for (List<T> list : sorted) {
+            if (!list.isEmpty()) {
+                heads.add(new Head<>(list, 0));
+            }
+        }
+        List<T> merged = new ArrayList<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Head<T> head = heads.poll();
+            merged.add(head.value());
+            if (head.position() + 1 < head.list().size()) {
+                heads.add(new Head<>(head.list(), head.position() + 1));
+            }
+        }
+        return merged;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private int pointFor(String key) {
+        int found = Arrays.binarySearch(points, hash(key));
+        int point = found >= 0 ? found : -found - 1;
+        return point == points.length ? 0 : point;
+    }
+
+    /*
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so that similar keys (e.g. the virtual
+     * node names of one server) land far apart on the ring.
+     */
+    static long hash(String key) {
+        long hash = FNV_OFFSET;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private record Head<T>(List<T> list, int position) {
+
+        T value() {
+            return list.get(position);
+        }
+    }
+}
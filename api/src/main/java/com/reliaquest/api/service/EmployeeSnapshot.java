@@ -0,0 +1,136 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local copy of the mock server's employee list, kept current by {@link EmployeeEventSubscriber}. Reads are served
+ * from an immutable view, the list and a map by id, that the first read after a change rebuilds under the lock; every
+ * other read takes no lock. With several servers ({@link EmployeeShards}) each one's employees are loaded and
+ * invalidated separately, and the snapshot is only ready while all of them are loaded.
+ */
+@Component
+public class EmployeeSnapshot {
+
+    private final Map<String, Employee> employees = new LinkedHashMap<>();
+
+    /* The server each employee came from, so that one server's employees can be reloaded on their own. */
+    private final Map<String, String> shardOf = new HashMap<>();
+
+    private final Set<String> loaded = new HashSet<>();
+
+    private volatile View view;
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<Employee> getEmployees() {
+        return view().employees();
+    }
+
+    public Optional<Employee> findById(String id) {
+        return Optional.ofNullable(view().byId().get(id));
+    }
+
+    public void replaceAll(List<Employee> replacement) {
+        synchronized (employees) {
+            employees.clear();
+            shardOf.clear();
+            loaded.clear();
+            replaceShard("", replacement, 1);
+        }
+    }
+
+    /*
+     * Replaces the employees loaded from one server, leaving those of the other servers in place.
+     */
+    public void replaceShard(String shard, List<Employee> replacement, int shardCount) {
+        synchronized (employees) {
+            Iterator<Map.Entry<String, String>> iterator = shardOf.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, String> entry = iterator.next();
+                if (entry.getValue().equals(shard)) {
+                    employees.remove(entry.getKey());
+                    iterator.remove();
+                }
+            }
+            replacement.forEach(employee -> upsert(shard, employee));
+            loaded.add(shard);
+            view = null;
+            ready = loaded.size() >= shardCount;
+        }
+    }
+
+    public void upsert(String shard, Employee employee) {
+        synchronized (employees) {
+            employees.put(employee.getId(), employee);
+            shardOf.put(employee.getId(), shard);
+            view = null;
+        }
+    }
+
+    public void remove(String id) {
+        synchronized (employees) {
+            shardOf.remove(id);
+            if (employees.remove(id) != null) {
+                view = null;
+            }
+        }
+    }
+
+    /*
+     * Mirrors a delete on one server, which removes its first employee whose name matches ignoring case. Employees of
+     * that name loaded from other servers stay.
+     */
+    public void removeByName(String shard, String name) {
+        synchronized (employees) {
+            employees.values().stream()
+                    .filter(employee -> name.equalsIgnoreCase(employee.getEmployee_name())
+                            && shard.equals(shardOf.get(employee.getId())))
+                    .findFirst()
+                    .ifPresent(employee -> {
+                        employees.remove(employee.getId());
+                        shardOf.remove(employee.getId());
+                        view = null;
+                    });
+        }
+    }
+
+    /*
+     * Marks the snapshot stale, e.g. after losing a server's event stream, so reads fall back to the mock servers until
+     * that server is reloaded.
+     */
+    public void invalidate(String shard) {
+        synchronized (employees) {
+            loaded.remove(shard);
+            ready = false;
+        }
+    }
+
+    private View view() {
+        View current = view;
+        if (current == null) {
+            synchronized (employees) {
+                current = view;
+                if (current == null) {
+                    current = new View(List.copyOf(employees.values()), Map.copyOf(employees));
+                    view = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private record View(List<Employee> employees, Map<String, Employee> byId) {}
+}
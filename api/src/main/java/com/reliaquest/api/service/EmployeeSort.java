@@ -0,0 +1,54 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.UUID;
+
+/*
+ * The mock server's page orderings, needed to merge pages from several servers. Each ends with the id, so it is total.
+ * Cursors use the server's format, the sort value and the id: they name a position in the ordering rather than in any
+ * one server, so the cursor of the last merged employee resumes every server at the right place.
+ */
+enum EmployeeSort {
+    ID(Comparator.comparing(EmployeeSort::uuid)),
+    NAME(Comparator.comparing(Employee::getEmployee_name, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(EmployeeSort::uuid)),
+    SALARY(Comparator.comparing(Employee::getEmployee_salary, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(EmployeeSort::uuid));
+
+    private final Comparator<Employee> comparator;
+
+    EmployeeSort(Comparator<Employee> comparator) {
+        this.comparator = comparator;
+    }
+
+    static EmployeeSort from(String value) {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+    }
+
+    Comparator<Employee> comparator(boolean descending) {
+        return descending ? comparator.reversed() : comparator;
+    }
+
+    String cursorOf(Employee employee) {
+        String key =
+                switch (this) {
+                    case ID -> "";
+                    case NAME -> employee.getEmployee_name() == null ? "" : employee.getEmployee_name();
+                    case SALARY -> employee.getEmployee_salary() == null
+                            ? ""
+                            : employee.getEmployee_salary().toString();
+                };
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((key + '\n' + employee.getId()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /* The server compares ids as UUIDs, which is not the order of their strings. */
+    private static UUID uuid(Employee employee) {
+        return UUID.fromString(employee.getId());
+    }
+}
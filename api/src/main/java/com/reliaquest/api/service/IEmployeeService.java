@@ -1,11 +1,14 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.model.Page;
 import java.util.List;
 
 public interface IEmployeeService<Entity, Input> {
 
     List<Entity> getAllEmployees();
 
+    Page<Entity> getEmployeePage(String sort, String order, String cursor, int limit);
+
     List<Entity> getEmployeesByNameSearch(String searchString);
 
     Entity getEmployeeById(String id);
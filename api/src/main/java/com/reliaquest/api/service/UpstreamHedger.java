@@ -0,0 +1,254 @@
+package com.reliaquest.api.service;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hedged execution of idempotent upstream reads. The first attempt gets the running p95 latency of its operation to
+ * answer; after that a second, identical attempt is sent and whichever succeeds first wins. Hedges are paid for from a
+ * budget that every call tops up by {@code employee.hedging.budget} (e.g. 0.05), so they add at most that fraction of
+ * upstream requests, and each hedge is admitted by {@link UpstreamScheduler} like any other call: it is only sent if a
+ * slot is free right away, so upstream concurrency stays within {@code employee.scheduler.max-concurrency}. The mock
+ * server's rate limit counts hedges like any other request, so none are sent for
+ * {@code employee.hedging.rate-limit-pause} (the api's 31 second retry backoff by default) after any upstream call was
+ * answered 429: once the server starts refusing requests, hedges stop adding to them until it is likely to accept
+ * requests again.
+ *
+ * <p>A call goes to a worker thread only when a hedge could be sent for it, i.e. its operation has a p95, the server is
+ * not rate limiting, a hedge is affordable and a slot is free; a blocking attempt cannot be given up by the thread running it, so the caller has to
+ * be free to take whichever attempt answers first. Every other call runs on the caller's thread.
+ *
+ * <p>Disabled unless {@code employee.hedging.enabled=true}, in which case calls simply run on the caller's thread.
+ */
+@Component
+public class UpstreamHedger implements MeterBinder {
+
+    /* Hedging waits for this many samples per operation before trusting its p95. */
+    static final int MIN_SAMPLES = 20;
+
+    private static final double MAX_TOKENS = 10;
+
+    private static final ContextSnapshotFactory SNAPSHOTS =
+            ContextSnapshotFactory.builder().build();
+
+    Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final UpstreamScheduler scheduler;
+    private final boolean enabled;
+    private final double budget;
+    private final Duration minDelay;
+    private final int window;
+    private final Duration rateLimitPause;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    /* Calls carry the caller's observation, so their spans join the caller's trace. */
+    private final ExecutorService executor = ContextExecutorService.wrap(
+            Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "upstream-hedge");
+                thread.setDaemon(true);
+                return thread;
+            }),
+            () -> SNAPSHOTS.captureAll());
+
+    private double tokens;
+
+    public UpstreamHedger(
+            UpstreamScheduler scheduler,
+            @Value("${employee.hedging.enabled:false}") boolean enabled,
+            @Value("${employee.hedging.budget:0.05}") double budget,
+            @Value("${employee.hedging.min-delay:5ms}") Duration minDelay,
+            @Value("${employee.hedging.window:1000}") int window,
+            @Value("${employee.hedging.rate-limit-pause:31s}") Duration rateLimitPause) {
+        this.scheduler = scheduler;
+        this.enabled = enabled;
+        this.budget = budget;
+        this.minDelay = minDelay;
+        this.window = window;
+        this.rateLimitPause = rateLimitPause;
+    }
+
+    /*
+     * Runs the call, hedging it if it outlives the operation's p95. Exceptions thrown by the call are rethrown as is;
+     * when both attempts fail, the last failure wins.
+     */
+    public <T> T call(String operation, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        LatencyWindow latency = latencies.computeIfAbsent(operation, ignored -> new LatencyWindow(window));
+        earn();
+        long delay = latency.p95();
+        if (delay < 0 || throttled() || !affordable() || !scheduler.hasFreeSlot()) {
+            return timed(latency, call);
+        }
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(() -> timed(latency, call), executor);
+        try {
+            return primary.get(Math.max(delay, minDelay.toNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            /* Another call may have been rate limited while this one was waiting. */
+            if (throttled() || !spend()) {
+                return await(primary);
+            }
+        } catch (ExecutionException e) {
+            return await(primary);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for upstream", e);
+        }
+
+        CompletableFuture<T> hedge =
+                scheduler.tryCallAsync(UpstreamPriority.INTERACTIVE, () -> timed(latency, call), executor);
+        if (hedge == null) {
+            refund();
+            return await(primary);
+        }
+        hedges.incrementAndGet();
+        logger.debug("Hedging {} after {} ms", operation, TimeUnit.NANOSECONDS.toMillis(delay));
+        hedge.thenRun(() -> {
+            if (!primary.isDone()) {
+                hedgeWins.incrementAndGet();
+            }
+        });
+        return await(firstSuccessful(primary, hedge));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.upstream.hedges", hedges, AtomicLong::get)
+                .description("Second attempts sent for slow upstream reads")
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.hedge.wins", hedgeWins, AtomicLong::get)
+                .description("Hedged reads answered by the second attempt")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static <T> T timed(LatencyWindow latency, Supplier<T> call) {
+        long started = System.nanoTime();
+        T result = call.get();
+        latency.record(System.nanoTime() - started);
+        return result;
+    }
+
+    private boolean throttled() {
+        return scheduler.rateLimitedWithin(rateLimitPause);
+    }
+
+    private synchronized void earn() {
+        tokens = Math.min(MAX_TOKENS, tokens + budget);
+    }
+
+    private synchronized boolean affordable() {
+        return tokens >= 1;
+    }
+
+    private synchronized void refund() {
+        tokens = Math.min(MAX_TOKENS, tokens + 1);
+    }
+
+    private synchronized boolean spend() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> primary, CompletableFuture<T> hedge) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> attempt : List.of(primary, hedge)) {
+            attempt.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+        return result;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for upstream", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /*
+     * Latencies of the most recent successful attempts. The p95 is recomputed every few samples rather than on every
+     * read, which keeps recording cheap.
+     */
+    static class LatencyWindow {
+
+        private static final int RECOMPUTE_EVERY = 16;
+
+        private final long[] samples;
+        private int count;
+        private int next;
+        private volatile long p95 = -1;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            if (count >= MIN_SAMPLES && (p95 < 0 || next % RECOMPUTE_EVERY == 0)) {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                p95 = sorted[(int) Math.ceil(0.95 * count) - 1];
+            }
+        }
+
+        /* The running p95 in nanoseconds, or -1 until enough samples were seen. */
+        long p95() {
+            return p95;
+        }
+    }
+}
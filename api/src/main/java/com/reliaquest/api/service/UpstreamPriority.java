@@ -0,0 +1,22 @@
+package com.reliaquest.api.service;
+
+/**
+ * Classes of upstream traffic, in order of importance. The weight is each class's share of upstream capacity when
+ * every class has calls waiting.
+ */
+public enum UpstreamPriority {
+    INTERACTIVE(16),
+    WRITE(8),
+    BULK(2),
+    REFRESH(1);
+
+    private final int weight;
+
+    UpstreamPriority(int weight) {
+        this.weight = weight;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,241 @@
+package com.reliaquest.api.service;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Admits upstream calls to the mock server, at most {@code employee.scheduler.max-concurrency} at a time. Calls beyond
+ * that wait in one queue per {@link UpstreamPriority} and are released by weighted fair queuing: each queued call gets
+ * a virtual finish time of {@code max(now, last finish of its class) + 1 / weight} and the smallest one goes next. An
+ * interactive call therefore overtakes queued refresh work, while refresh still gets its share under sustained load.
+ *
+ * <p>Callers name the class their call belongs to. Code that runs on behalf of background work can re-class every
+ * call made within it with {@link #runAs(UpstreamPriority, Supplier)}. Queue depth and time spent waiting are
+ * published per class as {@code employee.upstream.queue.depth} and {@code employee.upstream.queue.wait}, and a call
+ * that has to wait is observed as {@code employee.upstream.queue} while it does.
+ *
+ * <p>Every upstream call passes through here, so this is also where the api notices that the mock server is rate
+ * limiting it: {@link #rateLimitedWithin(Duration)} tells whether any call was answered 429 recently.
+ */
+@Component
+public class UpstreamScheduler implements MeterBinder {
+
+    private static final ThreadLocal<UpstreamPriority> OVERRIDE = new ThreadLocal<>();
+
+    private final int maxConcurrency;
+    private final Map<UpstreamPriority, ArrayDeque<Ticket>> queues = new EnumMap<>(UpstreamPriority.class);
+    private final Map<UpstreamPriority, Double> lastFinish = new EnumMap<>(UpstreamPriority.class);
+    private final Map<UpstreamPriority, AtomicLong> waits = new EnumMap<>(UpstreamPriority.class);
+    private final Map<UpstreamPriority, AtomicLong> waitNanos = new EnumMap<>(UpstreamPriority.class);
+
+    @Autowired(required = false)
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+    private int running;
+    private double virtualTime;
+    private volatile boolean rateLimited;
+    private volatile long rateLimitedAt;
+
+    public UpstreamScheduler(@Value("${employee.scheduler.max-concurrency:4}") int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        for (UpstreamPriority priority : UpstreamPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+            lastFinish.put(priority, 0.0);
+            waits.put(priority, new AtomicLong());
+            waitNanos.put(priority, new AtomicLong());
+        }
+    }
+
+    /*
+     * Runs the call once admitted. The calling thread blocks while waiting.
+     */
+    public <T> T call(UpstreamPriority priority, Supplier<T> call) {
+        UpstreamPriority effective = OVERRIDE.get() != null ? OVERRIDE.get() : priority;
+        acquire(effective);
+        try {
+            return call.get();
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            rateLimited();
+            throw e;
+        } finally {
+            release();
+        }
+    }
+
+    /*
+     * Starts the call on the executor only if it can be admitted straight away, i.e. a slot is free and no call is
+     * queued for one, and holds the slot until the call finishes. Returns null, without running the call, otherwise.
+     */
+    public <T> CompletableFuture<T> tryCallAsync(UpstreamPriority priority, Supplier<T> call, Executor executor) {
+        synchronized (this) {
+            if (!hasFreeSlot()) {
+                return null;
+            }
+            running++;
+        }
+        record(priority, 0);
+        try {
+            return CompletableFuture.supplyAsync(call, executor).whenComplete((result, error) -> {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                if (cause instanceof HttpClientErrorException.TooManyRequests) {
+                    rateLimited();
+                }
+                release();
+            });
+        } catch (RejectedExecutionException e) {
+            release();
+            throw e;
+        }
+    }
+
+    /* Whether any upstream call was answered 429 Too Many Requests within the given time. */
+    public boolean rateLimitedWithin(Duration window) {
+        return rateLimited && System.nanoTime() - rateLimitedAt < window.toNanos();
+    }
+
+    /* Whether a call would be admitted without waiting. */
+    public synchronized boolean hasFreeSlot() {
+        return running < maxConcurrency && queues.values().stream().allMatch(ArrayDeque::isEmpty);
+    }
+
+    /*
+     * Runs the work with every upstream call it makes on this thread classed as the given priority.
+     */
+    public <T> T runAs(UpstreamPriority priority, Supplier<T> work) {
+        UpstreamPriority previous = OVERRIDE.get();
+        OVERRIDE.set(priority);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                OVERRIDE.remove();
+            } else {
+                OVERRIDE.set(previous);
+            }
+        }
+    }
+
+    public synchronized int queued(UpstreamPriority priority) {
+        return queues.get(priority).size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (UpstreamPriority priority : UpstreamPriority.values()) {
+            String tag = priority.name().toLowerCase();
+            Gauge.builder("employee.upstream.queue.depth", this, scheduler -> scheduler.queued(priority))
+                    .description("Upstream calls waiting for admission")
+                    .tag("priority", tag)
+                    .register(registry);
+            FunctionTimer.builder(
+                            "employee.upstream.queue.wait",
+                            this,
+                            scheduler -> scheduler.waits.get(priority).get(),
+                            scheduler -> scheduler.waitNanos.get(priority).get(),
+                            TimeUnit.NANOSECONDS)
+                    .description("Time upstream calls spent waiting for admission")
+                    .tag("priority", tag)
+                    .register(registry);
+        }
+    }
+
+    private void acquire(UpstreamPriority priority) {
+        long started = System.nanoTime();
+        Ticket ticket;
+        synchronized (this) {
+            if (hasFreeSlot()) {
+                running++;
+                record(priority, 0);
+                return;
+            }
+            double finish = Math.max(virtualTime, lastFinish.get(priority)) + 1.0 / priority.getWeight();
+            lastFinish.put(priority, finish);
+            ticket = new Ticket(finish);
+            queues.get(priority).add(ticket);
+        }
+        Observation.createNotStarted("employee.upstream.queue", observationRegistry)
+                .lowCardinalityKeyValue("priority", priority.name().toLowerCase())
+                .observe(ticket::await);
+        record(priority, System.nanoTime() - started);
+    }
+
+    private synchronized void release() {
+        running--;
+        Ticket next = null;
+        UpstreamPriority from = null;
+        for (Map.Entry<UpstreamPriority, ArrayDeque<Ticket>> entry : queues.entrySet()) {
+            Ticket head = entry.getValue().peek();
+            if (head != null && (next == null || head.finish < next.finish)) {
+                next = head;
+                from = entry.getKey();
+            }
+        }
+        if (next != null) {
+            queues.get(from).poll();
+            virtualTime = next.finish;
+            running++;
+            next.grant();
+        }
+    }
+
+    private void rateLimited() {
+        rateLimitedAt = System.nanoTime();
+        rateLimited = true;
+    }
+
+    private void record(UpstreamPriority priority, long nanos) {
+        waits.get(priority).incrementAndGet();
+        waitNanos.get(priority).addAndGet(nanos);
+    }
+
+    /*
+     * A queued call. Granting hands it the slot released by the call that finished, so it never has to compete again.
+     */
+    private static class Ticket {
+
+        private final double finish;
+        private boolean granted;
+
+        Ticket(double finish) {
+            this.finish = finish;
+        }
+
+        synchronized void grant() {
+            granted = true;
+            notifyAll();
+        }
+
+        synchronized void await() {
+            boolean interrupted = false;
+            while (!granted) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Append-only journal of the creates and deletes the api sends upstream, one JSON line per entry. An operation is
+ * journalled under its idempotency key before the first attempt and closed by an acknowledgement or failure entry once
+ * it is settled, so whatever is still open after a crash can be sent again without duplicating it.
+ *
+ * <p>{@link #append(Entry)} returns once the entry is on disk. Appends use group commit: the first writer to need a
+ * sync becomes the leader, waits up to {@code employee.journal.max-delay} for up to {@code employee.journal.max-batch}
+ * entries to queue behind it, and a single {@link FileChannel#force(boolean)} then covers all of them. Writers that
+ * arrive while a sync is in progress wait for it and are covered by the next one, so concurrent writers share fsyncs
+ * even with no delay configured, and more of them share one the slower the disk is.
+ *
+ * <p>On startup the journal is read back and rewritten with just the open operations, available from
+ * {@link #pending()}. It is compacted the same way whenever it outgrows {@code employee.journal.compact-after}.
+ */
+@Component
+public class WriteJournal implements MeterBinder {
+
+    public enum Kind {
+        CREATE,
+        DELETE,
+        ACK,
+        FAIL
+    }
+
+    Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final long compactAfter;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+    private final Map<String, Entry> open = new LinkedHashMap<>();
+    private final AtomicLong appends = new AtomicLong();
+    private final AtomicLong syncs = new AtomicLong();
+
+    private FileChannel channel;
+    private long written;
+    private long durable;
+    private boolean syncing;
+    private long size;
+    private long compactAt;
+
+    public WriteJournal(
+            @Value("${employee.journal.path:${java.io.tmpdir}/employee-api/write.journal}") Path path,
+            ObjectMapper objectMapper,
+            @Value("${employee.journal.max-batch:16}") int maxBatch,
+            @Value("${employee.journal.max-delay:0ms}") Duration maxDelay,
+            @Value("${employee.journal.compact-after:64MB}") DataSize compactAfter) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.maxBatch = maxBatch;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.compactAfter = compactAfter.toBytes();
+        recover();
+    }
+
+    /*
+     * Writes the entry and returns once it, and everything written before it, is durable.
+     */
+    public void append(Entry entry) {
+        ByteBuffer line = ByteBuffer.wrap(toLine(entry));
+        lock.lock();
+        try {
+            write(line);
+            track(entry);
+            long sequence = ++written;
+            appends.incrementAndGet();
+            appended.signal();
+            while (durable < sequence) {
+                if (syncing) {
+                    synced.awaitUninterruptibly();
+                } else {
+                    sync();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to " + path, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Operations journalled but not yet acknowledged or failed, oldest first.
+     */
+    public List<Entry> pending() {
+        lock.lock();
+        try {
+            return new ArrayList<>(open.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.journal.appends", appends, AtomicLong::get)
+                .description("Entries appended to the write journal")
+                .register(registry);
+        FunctionCounter.builder("employee.journal.syncs", syncs, AtomicLong::get)
+                .description("Forces of the write journal to disk, each covering one group of appends")
+                .register(registry);
+    }
+
+    /*
+     * Leader side of group commit, entered with the lock held. The lock is released while waiting for followers and
+     * during the force, so other writers can keep appending.
+     */
+    private void sync() throws IOException {
+        syncing = true;
+        try {
+            long remaining = maxDelayNanos;
+            while (written - durable < maxBatch && remaining > 0) {
+                try {
+                    remaining = appended.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            long target = written;
+            FileChannel out = channel;
+            lock.unlock();
+            try {
+                out.force(false);
+            } finally {
+                lock.lock();
+            }
+            syncs.incrementAndGet();
+            durable = target;
+            if (size > compactAt && durable == written) {
+                compact();
+            }
+        } finally {
+            syncing = false;
+            synced.signalAll();
+        }
+    }
+
+    private void write(ByteBuffer line) throws IOException {
+        if (channel == null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            channel = FileChannel.open(
+                    path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        size += line.remaining();
+        while (line.hasRemaining()) {
+            channel.write(line);
+        }
+    }
+
+    private void track(Entry entry) {
+        switch (entry.kind()) {
+            case CREATE, DELETE -> open.put(entry.key(), entry);
+            case ACK, FAIL -> open.remove(entry.key());
+        }
+    }
+
+    /*
+     * Rebuilds the open operations from the file. A line torn by a crash mid-append can only be the last one and is
+     * skipped.
+     */
+    private void recover() {
+        if (Files.exists(path)) {
+            try {
+                for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        track(objectMapper.readValue(line, Entry.class));
+                    } catch (JsonProcessingException e) {
+                        logger.warn("Skipping unreadable journal entry in {}", path);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read " + path, e);
+            }
+        }
+        try {
+            compact();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact " + path, e);
+        }
+        if (!open.isEmpty()) {
+            logger.info("Journal {} has {} unacknowledged operations", path, open.size());
+        }
+    }
+
+    /*
+     * Replaces the file with the open operations. The new file is written and forced beside the old one and then moved
+     * over it, so a crash leaves one or the other intact.
+     */
+    private void compact() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        long compacted = 0;
+        try (FileChannel out = FileChannel.open(
+                temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Entry entry : open.values()) {
+                ByteBuffer line = ByteBuffer.wrap(toLine(entry));
+                compacted += line.remaining();
+                while (line.hasRemaining()) {
+                    out.write(line);
+                }
+            }
+            out.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        size = compacted;
+        /* Leave room to grow past whatever is still open, or a large backlog would be rewritten on every sync. */
+        compactAt = Math.max(compactAfter, 2 * compacted);
+    }
+
+    private byte[] toLine(Entry entry) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(entry);
+            byte[] line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = '\n';
+            return line;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot journal " + entry, e);
+        }
+    }
+
+    /*
+     * CREATE entries carry the input and DELETE entries the name; an ACK may carry the employee the server returned
+     * and a FAIL the reason.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Entry(String key, Kind kind, EmployeeInput input, String name, Employee employee, String error) {
+
+        public static Entry create(String key, EmployeeInput input) {
+            return new Entry(key, Kind.CREATE, input, null, null, null);
+        }
+
+        public static Entry delete(String key, String name) {
+            return new Entry(key, Kind.DELETE, null, name, null, null);
+        }
+
+        public static Entry ack(String key, Employee employee) {
+            return new Entry(key, Kind.ACK, null, null, employee, null);
+        }
+
+        public static Entry fail(String key, String error) {
+            return new Entry(key, Kind.FAIL, null, null, null, error);
+        }
+    }
+}
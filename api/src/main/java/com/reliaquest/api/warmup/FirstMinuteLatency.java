@@ -0,0 +1,75 @@
+package com.reliaquest.api.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Times the requests served in a window opened by {@link StartupWarmup} once the api reports ready, as
+ * {@code employee.startup.first-minute} with p50, p90 and p99. Actuator calls are not counted, and neither are the
+ * warm-up's own requests, which carry {@link StartupWarmup#WARMUP_HEADER} set to this process's random
+ * {@link #warmupToken()}. A caller sending the header with any other value is timed like everyone else.
+ */
+@Component
+public class FirstMinuteLatency extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private final String warmupToken = UUID.randomUUID().toString();
+
+    private volatile Timer timer;
+
+    private volatile long closesAt;
+
+    public void open(Duration window) {
+        /* One buffer that outlives the window, so no sample is rotated out before the window is reported. */
+        timer = Timer.builder("employee.startup.first-minute")
+                .description("Latency of the requests served in the first minute after the api reported ready")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .distributionStatisticExpiry(window.multipliedBy(2))
+                .distributionStatisticBufferLength(1)
+                .register(registry);
+        closesAt = System.nanoTime() + window.toNanos();
+    }
+
+    /* The value StartupWarmup sends its own requests with. Never leaves the process. */
+    public String warmupToken() {
+        return warmupToken;
+    }
+
+    public HistogramSnapshot close() {
+        closesAt = System.nanoTime();
+        return timer.takeSnapshot();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Timer current = timer;
+        if (current == null
+                || System.nanoTime() - closesAt >= 0
+                || warmupToken.equals(request.getHeader(StartupWarmup.WARMUP_HEADER))
+                || request.getRequestURI().startsWith("/actuator")) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            current.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+}
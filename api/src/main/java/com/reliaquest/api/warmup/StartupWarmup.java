@@ -0,0 +1,292 @@
+package com.reliaquest.api.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.service.EmployeeAnalytics;
+import com.reliaquest.api.service.EmployeeCache;
+import com.reliaquest.api.service.EmployeeShards;
+import com.reliaquest.api.service.EmployeeSnapshot;
+import com.reliaquest.api.service.UpstreamPriority;
+import com.reliaquest.api.service.UpstreamScheduler;
+import com.reliaquest.tracing.TraceRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Warms the api up before it reports ready. Once the application has started, a background thread loads the employees
+ * (waiting for {@link EmployeeSnapshot} when the event stream is on, otherwise listing every server at
+ * {@link UpstreamPriority#REFRESH} into {@link EmployeeCache}), runs the analytics and Jackson paths over them, and
+ * sends {@code employee.warmup.requests} rounds of read requests to the api itself so the request path is compiled
+ * before the first real caller arrives. Until then this health indicator is OUT_OF_SERVICE, which keeps the readiness
+ * probe failing. Warm-up gives up after {@code employee.warmup.timeout} and reports ready anyway.
+ *
+ * <p>Time from JVM start to ready is published as {@code employee.startup.time-to-ready} and the requests served in
+ * the following {@code employee.warmup.report-window} are timed by {@link FirstMinuteLatency}; both are logged.
+ */
+@Component("warmup")
+public class StartupWarmup implements HealthIndicator, MeterBinder {
+
+    public static final String WARMUP_HEADER = "X-Warmup";
+
+    Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private EmployeeSnapshot snapshot;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private EmployeeAnalytics analytics;
+
+    @Autowired
+    private EmployeeShards shards;
+
+    @Autowired
+    private UpstreamScheduler scheduler;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TraceRecorder traceRecorder;
+
+    @Autowired
+    private FirstMinuteLatency firstMinute;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${employee.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${employee.warmup.timeout:30s}")
+    private Duration timeout;
+
+    @Value("${employee.warmup.requests:200}")
+    private int requests;
+
+    @Value("${employee.warmup.report-window:1m}")
+    private Duration reportWindow;
+
+    @Value("${employee.events.enabled:false}")
+    private boolean eventsEnabled;
+
+    private volatile boolean warm;
+
+    private volatile long timeToReady = -1;
+
+    private volatile int loaded;
+
+    private volatile int calls;
+
+    private Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        worker = new Thread(this::run, "employee-warmup");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public Health health() {
+        if (!warm) {
+            return Health.outOfService().withDetail("loaded", loaded).build();
+        }
+        return Health.up()
+                .withDetail("loaded", loaded)
+                .withDetail("requests", calls)
+                .withDetail("timeToReady", Duration.ofMillis(timeToReady).toString())
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("employee.startup.time-to-ready", this, TimeUnit.MILLISECONDS, warmup -> warmup.timeToReady)
+                .description("Time from JVM start until the api reported ready, -1 while warming up")
+                .register(registry);
+    }
+
+    private void run() {
+        long started = System.nanoTime();
+        long deadline = started + timeout.toNanos();
+        try {
+            if (enabled) {
+                List<Employee> employees = preload(deadline);
+                loaded = employees.size();
+                warmInProcess(employees);
+                warmRequests(employees, deadline);
+                /* The traces of warm-up calls would crowd real requests out of /actuator/traces. */
+                traceRecorder.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            logger.warn("Warm-up failed, reporting ready anyway: {}", e.toString());
+        }
+        timeToReady = ManagementFactory.getRuntimeMXBean().getUptime();
+        warm = true;
+        logger.info(
+                "Ready {} ms after JVM start, warm-up took {} ms ({} employees loaded, {} requests)",
+                timeToReady,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                loaded,
+                calls);
+        report();
+    }
+
+    /*
+     * Waits for the event subscriber to load the snapshot, or loads every server's employees into the by-id cache when
+     * there is no snapshot to wait for. Uses the upstream budget of one REFRESH call per server and is not retried when
+     * rate limited; the cache then simply fills on demand.
+     */
+    private List<Employee> preload(long deadline) throws InterruptedException {
+        if (eventsEnabled) {
+            while (!snapshot.isReady()) {
+                if (System.nanoTime() - deadline >= 0) {
+                    logger.warn("Employee snapshot not loaded within {}", timeout);
+                    return List.of();
+                }
+                Thread.sleep(50);
+            }
+            return snapshot.getEmployees();
+        }
+        List<Employee> employees = new ArrayList<>();
+        for (String url : shards.urls()) {
+            try {
+                EmployeeResponse response = scheduler.call(
+                        UpstreamPriority.REFRESH, () -> restTemplate.getForObject(url, EmployeeResponse.class));
+                response.getData().forEach(employeeCache::put);
+                employees.addAll(response.getData());
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                logger.warn("Employee preload from {} rate limited, skipping", url);
+            } catch (RestClientException e) {
+                logger.warn("Employee preload from {} failed: {}", url, e.getMessage());
+            }
+        }
+        return employees;
+    }
+
+    private void warmInProcess(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        try {
+            for (int i = 0; i < requests; i++) {
+                Employee employee = employees.get(i % employees.size());
+                objectMapper.readValue(objectMapper.writeValueAsBytes(employee), Employee.class);
+                analytics.search(employees, fragment(employee));
+                analytics.topBySalary(employees, 10);
+                analytics.salaryStats(employees);
+            }
+            EmployeeResponse response = new EmployeeResponse();
+            response.setData(employees);
+            objectMapper.readValue(objectMapper.writeValueAsBytes(response), EmployeeResponse.class);
+        } catch (IOException e) {
+            logger.warn("Jackson warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    /*
+     * Sends read requests to the api's own port. Only done once the snapshot is loaded, when every one of them is
+     * answered locally; without it they would spend the mock server's rate limit.
+     */
+    private void warmRequests(List<Employee> employees, long deadline) {
+        String port = environment.getProperty("local.server.port");
+        if (port == null || !snapshot.isReady() || employees.isEmpty()) {
+            return;
+        }
+        String base = "http://localhost:" + port;
+        RestTemplate loopback = new RestTemplate();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(WARMUP_HEADER, firstMinute.warmupToken());
+        HttpEntity<Void> request = new HttpEntity<>(headers);
+        for (int i = 0; i < requests && System.nanoTime() - deadline < 0; i++) {
+            Employee employee = employees.get(i % employees.size());
+            String path =
+                    switch (i % 6) {
+                        case 0 -> "/";
+                        case 1 -> "/search/" + fragment(employee);
+                        case 2 -> "/" + employee.getId();
+                        case 3 -> "/highestSalary";
+                        case 4 -> "/topTenHighestEarningEmployeeNames";
+                        default -> "/analytics/salary";
+                    };
+            try {
+                loopback.exchange(base + path, HttpMethod.GET, request, byte[].class);
+                calls++;
+            } catch (RestClientException e) {
+                logger.debug("Warm-up request {} failed: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    private void report() {
+        firstMinute.open(reportWindow);
+        try {
+            Thread.sleep(reportWindow.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        HistogramSnapshot latency = firstMinute.close();
+        StringBuilder percentiles = new StringBuilder();
+        for (ValueAtPercentile percentile : latency.percentileValues()) {
+            percentiles.append(String.format(
+                    " p%.0f=%.1fms", percentile.percentile() * 100, percentile.value(TimeUnit.MILLISECONDS)));
+        }
+        logger.info(
+                "First {} after ready: {} requests,{} max={}ms",
+                reportWindow,
+                latency.count(),
+                percentiles,
+                String.format("%.1f", latency.max(TimeUnit.MILLISECONDS)));
+    }
+
+    private static String fragment(Employee employee) {
+        String name = employee.getEmployee_name();
+        return name == null || name.isEmpty() ? "a" : name.substring(0, 1);
+    }
+}
@@ -109,7 +109,7 @@ class ApiApplicationTest {
     void getTopTenHighestEarningEmployeeNamesTest() {
         initEmployee();
         List<String> expected_top10SalariedEmployee = employees.stream()
-                .sorted(Comparator.comparing(Employee::getEmployee_salary))
+                .sorted(Comparator.comparing(Employee::getEmployee_salary).reversed())
                 .map(Employee::getEmployee_name)
                 .limit(10)
                 .collect(Collectors.toList());
@@ -0,0 +1,233 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.AsyncCreateStatus;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.AsyncEmployeeCreator;
+import com.reliaquest.api.service.EmployeeApiService;
+import com.reliaquest.api.service.UpstreamPriority;
+import com.reliaquest.api.service.WriteJournal;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.HttpClientErrorException;
+
+public class AsyncEmployeeCreatorTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final EmployeeApiService employeeService = Mockito.mock(EmployeeApiService.class);
+
+    private final EmployeeInput input = EmployeeInput.builder()
+            .name("John Doe")
+            .salary(50000)
+            .age(30)
+            .title("Engineer")
+            .build();
+
+    private final Employee employee = Employee.builder()
+            .id("1")
+            .employee_name("John Doe")
+            .employee_salary(50000)
+            .employee_age(30)
+            .employee_title("Engineer")
+            .employee_email("john@company.com")
+            .build();
+
+    private AsyncEmployeeCreator creator;
+
+    @BeforeEach
+    public void setUp() {
+        creator = newCreator();
+    }
+
+    private AsyncEmployeeCreator newCreator() {
+        AsyncEmployeeCreator created =
+                new AsyncEmployeeCreator(employeeService, newJournal(), 10, Duration.ofSeconds(31), 100);
+        created.recover();
+        return created;
+    }
+
+    private WriteJournal newJournal() {
+        return new WriteJournal(
+                directory.resolve("write.journal"), objectMapper, 32, Duration.ZERO, DataSize.ofMegabytes(1));
+    }
+
+    private static HttpClientErrorException error(HttpStatus status) {
+        return HttpClientErrorException.create(status, status.getReasonPhrase(), null, null, null);
+    }
+
+    @Test
+    public void test_accept_thenPendingUntilFlushed() throws InterruptedException {
+        Mockito.when(employeeService.createEmployee(eq(input), eq(UpstreamPriority.BULK), any()))
+                .thenReturn(employee);
+
+        String trackingId = creator.accept(input).getTrackingId();
+        assertEquals(
+                AsyncCreateStatus.State.PENDING,
+                creator.status(trackingId).orElseThrow().getState());
+
+        assertTrue(creator.flush(Duration.ZERO));
+
+        AsyncCreateStatus status = creator.status(trackingId).orElseThrow();
+        assertEquals(AsyncCreateStatus.State.CREATED, status.getState());
+        assertEquals(employee, status.getEmployee());
+        assertEquals(1, status.getAttempts());
+    }
+
+    @Test
+    public void test_flushThrottled_thenCreateStaysQueued() throws InterruptedException {
+        Mockito.when(employeeService.createEmployee(any(), any(), any()))
+                .thenThrow(error(HttpStatus.TOO_MANY_REQUESTS))
+                .thenReturn(employee);
+
+        String trackingId = creator.accept(input).getTrackingId();
+
+        assertFalse(creator.flush(Duration.ZERO));
+        assertEquals(
+                AsyncCreateStatus.State.PENDING,
+                creator.status(trackingId).orElseThrow().getState());
+
+        assertTrue(creator.flush(Duration.ZERO));
+        AsyncCreateStatus status = creator.status(trackingId).orElseThrow();
+        assertEquals(AsyncCreateStatus.State.CREATED, status.getState());
+        assertEquals(2, status.getAttempts());
+    }
+
+    @Test
+    public void test_flushRejected_thenFailed() throws InterruptedException {
+        Mockito.when(employeeService.createEmployee(any(), any(), any())).thenThrow(error(HttpStatus.BAD_REQUEST));
+
+        String trackingId = creator.accept(input).getTrackingId();
+
+        assertTrue(creator.flush(Duration.ZERO));
+        AsyncCreateStatus status = creator.status(trackingId).orElseThrow();
+        assertEquals(AsyncCreateStatus.State.FAILED, status.getState());
+        assertEquals(1, creator.summary().get(AsyncCreateStatus.State.FAILED));
+    }
+
+    @Test
+    public void test_restart_thenPendingCreatesRecoveredFromJournal() throws InterruptedException {
+        Mockito.when(employeeService.createEmployee(any(), any(), any())).thenReturn(employee);
+        String sent = creator.accept(input).getTrackingId();
+        creator.flush(Duration.ZERO);
+        String pending = creator.accept(input).getTrackingId();
+
+        AsyncEmployeeCreator restarted = newCreator();
+
+        assertTrue(restarted.status(sent).isEmpty());
+        assertEquals(
+                AsyncCreateStatus.State.PENDING,
+                restarted.status(pending).orElseThrow().getState());
+        assertTrue(restarted.flush(Duration.ZERO));
+        assertEquals(
+                AsyncCreateStatus.State.CREATED,
+                restarted.status(pending).orElseThrow().getState());
+        Mockito.verify(employeeService, Mockito.times(2)).createEmployee(any(), any(), any());
+    }
+
+    @Test
+    public void test_restartAfterInterruptedDelete_thenDeleteIsReplayedWithItsKey() throws InterruptedException {
+        String key = UUID.randomUUID().toString();
+        newJournal().append(WriteJournal.Entry.delete(key, "John Doe"));
+
+        AsyncEmployeeCreator restarted = newCreator();
+
+        assertTrue(restarted.flush(Duration.ZERO));
+        Mockito.verify(employeeService).deleteEmployeeById("John Doe", UpstreamPriority.BULK, key);
+        assertTrue(newJournal().pending().isEmpty());
+    }
+
+    @Test
+    public void test_unexpectedFailure_thenBatchStaysQueued() throws InterruptedException {
+        Mockito.when(employeeService.createEmployee(any(), any(), any()))
+                .thenThrow(new UncheckedIOException("journal unavailable", new IOException()))
+                .thenReturn(employee);
+
+        String trackingId = creator.accept(input).getTrackingId();
+
+        assertThrows(UncheckedIOException.class, () -> creator.flush(Duration.ZERO));
+        assertEquals(
+                AsyncCreateStatus.State.PENDING,
+                creator.status(trackingId).orElseThrow().getState());
+
+        assertTrue(creator.flush(Duration.ZERO));
+        assertEquals(
+                AsyncCreateStatus.State.CREATED,
+                creator.status(trackingId).orElseThrow().getState());
+    }
+
+    @Test
+    public void test_overRetained_thenOldestSettledForgottenAndPendingKept() throws Exception {
+        AsyncEmployeeCreator small = new AsyncEmployeeCreator(employeeService, newJournal(), 1, Duration.ZERO, 3);
+        EmployeeInput slow = EmployeeInput.builder()
+                .name("Slow Create")
+                .salary(50000)
+                .age(30)
+                .title("Engineer")
+                .build();
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch answer = new CountDownLatch(1);
+        Mockito.when(employeeService.createEmployee(eq(slow), any(), any())).thenAnswer(invocation -> {
+            sending.countDown();
+            answer.await();
+            return employee;
+        });
+        Mockito.when(employeeService.createEmployee(eq(input), any(), any())).thenReturn(employee);
+
+        /* The oldest create is still in flight, and so pending, while the later ones settle. */
+        String pending = small.accept(slow).getTrackingId();
+        Thread flusher = new Thread(() -> {
+            try {
+                small.flush(Duration.ZERO);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        flusher.start();
+        sending.await();
+        List<String> settled = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            settled.add(small.accept(input).getTrackingId());
+            assertTrue(small.flush(Duration.ZERO));
+        }
+
+        try {
+            assertEquals(
+                    AsyncCreateStatus.State.PENDING,
+                    small.status(pending).orElseThrow().getState());
+            assertTrue(small.status(settled.get(0)).isEmpty());
+            assertTrue(small.status(settled.get(2)).isEmpty());
+            assertEquals(
+                    AsyncCreateStatus.State.CREATED,
+                    small.status(settled.get(4)).orElseThrow().getState());
+            assertEquals(2, small.summary().get(AsyncCreateStatus.State.CREATED));
+        } finally {
+            answer.countDown();
+            flusher.join();
+        }
+    }
+}
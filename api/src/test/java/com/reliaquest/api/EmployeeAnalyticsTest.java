@@ -0,0 +1,74 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.SalaryHistogram;
+import com.reliaquest.api.model.SalaryStats;
+import com.reliaquest.api.service.EmployeeAnalytics;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeAnalyticsTest {
+
+    private final EmployeeAnalytics sequential = new EmployeeAnalytics(Integer.MAX_VALUE);
+
+    private final EmployeeAnalytics parallel = new EmployeeAnalytics(0);
+
+    private static List<Employee> employees(int size) {
+        Random random = new Random(7);
+        return IntStream.range(0, size)
+                .mapToObj(i -> Employee.builder()
+                        .id("id-" + i)
+                        .employee_name("Employee " + i)
+                        .employee_salary(30000 + random.nextInt(470000))
+                        .employee_title(i % 3 == 0 ? "Engineer" : "Manager")
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void test_parallelAndSequential_thenResultsMatch() {
+        List<Employee> employees = employees(5000);
+
+        assertEquals(sequential.search(employees, "99"), parallel.search(employees, "99"));
+        assertEquals(sequential.topBySalary(employees, 10), parallel.topBySalary(employees, 10));
+        assertEquals(sequential.salaryStats(employees), parallel.salaryStats(employees));
+        assertEquals(sequential.salaryStatsByTitle(employees), parallel.salaryStatsByTitle(employees));
+        assertArrayEquals(
+                sequential.salaryHistogram(employees, 8).getCounts(),
+                parallel.salaryHistogram(employees, 8).getCounts());
+    }
+
+    @Test
+    public void test_topBySalary_thenHighestEarnersFirst() {
+        List<Employee> employees = employees(200);
+        List<Employee> expected = employees.stream()
+                .sorted(Comparator.comparing(Employee::getEmployee_salary).reversed())
+                .limit(10)
+                .collect(Collectors.toList());
+
+        assertEquals(expected, parallel.topBySalary(employees, 10));
+    }
+
+    @Test
+    public void test_salaryStatsAndHistogram_thenCoverEveryEmployee() {
+        List<Employee> employees = employees(1000);
+
+        SalaryStats stats = parallel.salaryStats(employees);
+        SalaryHistogram histogram = parallel.salaryHistogram(employees, 10);
+
+        assertEquals(1000, stats.getCount());
+        assertTrue(stats.getPercentiles().get("p50") >= stats.getMin());
+        assertTrue(stats.getPercentiles().get("p99") <= stats.getMax());
+        assertEquals(1000, Arrays.stream(histogram.getCounts()).sum());
+        assertEquals(stats.getMin(), histogram.getMin());
+    }
+}
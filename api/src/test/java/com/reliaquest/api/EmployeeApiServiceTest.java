@@ -2,27 +2,50 @@ package com.reliaquest.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertLinesMatch;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.Page;
+import com.reliaquest.api.model.PageResponse;
+import com.reliaquest.api.model.SalaryStats;
+import com.reliaquest.api.model.SalaryStatsResponse;
 import com.reliaquest.api.model.SingleEmployeeResponse;
+import com.reliaquest.api.service.EmployeeAnalytics;
 import com.reliaquest.api.service.EmployeeApiService;
+import com.reliaquest.api.service.EmployeeCache;
+import com.reliaquest.api.service.EmployeeShards;
+import com.reliaquest.api.service.EmployeeSnapshot;
+import com.reliaquest.api.service.UpstreamHedger;
+import com.reliaquest.api.service.UpstreamScheduler;
+import com.reliaquest.api.service.WriteJournal;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,12 +54,39 @@ public class EmployeeApiServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private EmployeeSnapshot snapshot = new EmployeeSnapshot();
+
+    @Spy
+    private EmployeeAnalytics analytics = new EmployeeAnalytics(50000);
+
+    @Spy
+    private EmployeeCache employeeCache =
+            new EmployeeCache(Duration.ofMinutes(5), Duration.ofSeconds(30), DataSize.ofMegabytes(1));
+
+    @Spy
+    private UpstreamHedger hedger = new UpstreamHedger(
+            new UpstreamScheduler(4), false, 0.05, Duration.ofMillis(5), 1000, Duration.ofSeconds(31));
+
+    @Spy
+    private UpstreamScheduler scheduler = new UpstreamScheduler(4);
+
+    @Mock
+    private WriteJournal journal;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private EmployeeShards shards = new EmployeeShards(List.of("http://localhost:8080"), 128);
+
     @InjectMocks
     private EmployeeApiService apiService;
 
-    @BeforeEach
-    public void setUp() {
-        ReflectionTestUtils.setField(apiService, "url", "http://localhost:8080");
+    private static final List<String> SHARDS = List.of("http://localhost:8081", "http://localhost:8082");
+
+    private void useShards() {
+        ReflectionTestUtils.setField(apiService, "shards", new EmployeeShards(SHARDS, 128));
     }
 
     private static Employee createEmployee(String id, String name, int age, int salary, String title, String email) {
@@ -104,6 +154,53 @@ public class EmployeeApiServiceTest {
                 employee.getId(), prepareEmployeeResponse2().getBody().getData().getId());
     }
 
+    @Test
+    public void test_getEmployeeByIdTwice_thenUpstreamIsCalledOnce() {
+        Mockito.when(restTemplate.exchange(
+                        "http://localhost:8080/abc-098", HttpMethod.GET, null, SingleEmployeeResponse.class))
+                .thenReturn(prepareEmployeeResponse2());
+
+        apiService.getEmployeeById("abc-098");
+        Employee employee = apiService.getEmployeeById("abc-098");
+
+        assertEquals("abc-098", employee.getId());
+        Mockito.verify(restTemplate, Mockito.times(1))
+                .exchange("http://localhost:8080/abc-098", HttpMethod.GET, null, SingleEmployeeResponse.class);
+    }
+
+    @Test
+    public void test_getEmployeeByIdNotFound_thenNotFoundIsCached() {
+        Mockito.when(restTemplate.exchange(
+                        "http://localhost:8080/missing", HttpMethod.GET, null, SingleEmployeeResponse.class))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        assertThrows(HttpClientErrorException.NotFound.class, () -> apiService.getEmployeeById("missing"));
+        assertThrows(HttpClientErrorException.NotFound.class, () -> apiService.getEmployeeById("missing"));
+
+        Mockito.verify(restTemplate, Mockito.times(1))
+                .exchange("http://localhost:8080/missing", HttpMethod.GET, null, SingleEmployeeResponse.class);
+    }
+
+    @Test
+    public void test_deleteEmployeeById_thenCachedEmployeeIsInvalidated() {
+        Mockito.when(restTemplate.exchange(
+                        "http://localhost:8080/abc-098", HttpMethod.GET, null, SingleEmployeeResponse.class))
+                .thenReturn(prepareEmployeeResponse2());
+        Mockito.when(restTemplate.exchange(
+                        eq("http://localhost:8080"),
+                        eq(HttpMethod.DELETE),
+                        Mockito.any(HttpEntity.class),
+                        eq(String.class)))
+                .thenReturn(ResponseEntity.ok("SUCCESS"));
+
+        apiService.getEmployeeById("abc-098");
+        apiService.deleteEmployeeById("aman bajpayee");
+        apiService.getEmployeeById("abc-098");
+
+        Mockito.verify(restTemplate, Mockito.times(2))
+                .exchange("http://localhost:8080/abc-098", HttpMethod.GET, null, SingleEmployeeResponse.class);
+    }
+
     @Test
     public void test_getHighestSalaryOfEmployees_thenResponseShouldMatch() {
         Mockito.when(restTemplate.exchange("http://localhost:8080", HttpMethod.GET, null, EmployeeResponse.class))
@@ -161,6 +258,215 @@ public class EmployeeApiServiceTest {
         assertTrue(employee.getEmployee_name().equals("Aman Bajpayee"));
     }
 
+    @Test
+    public void test_createEmployee_thenJournalledUnderTheKeySentUpstream() {
+        ArgumentCaptor<HttpEntity<?>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        Mockito.when(restTemplate.exchange(
+                        eq("http://localhost:8080"),
+                        eq(HttpMethod.POST),
+                        request.capture(),
+                        eq(SingleEmployeeResponse.class)))
+                .thenReturn(ResponseEntity.ok(getEmployeeResponse()));
+
+        EmployeeInput employeeInput =
+                EmployeeInput.builder().name("Aman Bajpayee").build();
+        Employee employee = apiService.createEmployee(employeeInput);
+
+        String key = request.getValue().getHeaders().getFirst("Idempotency-Key");
+        InOrder inOrder = Mockito.inOrder(journal, restTemplate);
+        inOrder.verify(journal).append(WriteJournal.Entry.create(key, employeeInput));
+        inOrder.verify(restTemplate)
+                .exchange(eq("http://localhost:8080"), eq(HttpMethod.POST), any(), eq(SingleEmployeeResponse.class));
+        inOrder.verify(journal).append(WriteJournal.Entry.ack(key, employee));
+    }
+
+    @Test
+    public void test_createEmployeeRejected_thenJournalEntryIsClosed() {
+        Mockito.when(restTemplate.exchange(
+                        eq("http://localhost:8080"),
+                        eq(HttpMethod.POST),
+                        Mockito.any(HttpEntity.class),
+                        eq(SingleEmployeeResponse.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null));
+
+        EmployeeInput employeeInput = EmployeeInput.builder().build();
+        assertThrows(HttpClientErrorException.BadRequest.class, () -> apiService.createEmployee(employeeInput));
+
+        ArgumentCaptor<WriteJournal.Entry> entries = ArgumentCaptor.forClass(WriteJournal.Entry.class);
+        Mockito.verify(journal, Mockito.times(2)).append(entries.capture());
+        assertEquals(
+                List.of(WriteJournal.Kind.CREATE, WriteJournal.Kind.FAIL),
+                entries.getAllValues().stream().map(WriteJournal.Entry::kind).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void test_getEmployeePage_thenCursorIsForwarded() {
+        Page<Employee> page = new Page<>();
+        page.setItems(prepareEmployeeResponse().getBody().getData());
+        page.setNextCursor("next");
+        PageResponse<Employee> response = new PageResponse<>();
+        response.setData(page);
+        Mockito.when(restTemplate.exchange(
+                        eq("http://localhost:8080/page?sort=salary&order=desc&limit=3&cursor=abc"),
+                        eq(HttpMethod.GET),
+                        Mockito.isNull(),
+                        Mockito.<ParameterizedTypeReference<PageResponse<Employee>>>any()))
+                .thenReturn(ResponseEntity.ok(response));
+
+        Page<Employee> actual = apiService.getEmployeePage("salary", "desc", "abc", 3);
+        assertEquals(3, actual.getItems().size());
+        assertEquals("next", actual.getNextCursor());
+    }
+
+    @Test
+    public void test_getEmployeesByNameSearchWithPushdown_thenServerSearchIsUsed() {
+        ReflectionTestUtils.setField(apiService, "pushdown", true);
+        EmployeeResponse response = new EmployeeResponse();
+        response.setData(List.of(createEmployee("abc-098", "Aman Bajpayee", 23, 2000, "Sr Executive", "abc@avc.com")));
+        Mockito.when(restTemplate.exchange(
+                        URI.create("http://localhost:8080/search?name=Aman%20B%2Bj"),
+                        HttpMethod.GET,
+                        null,
+                        EmployeeResponse.class))
+                .thenReturn(ResponseEntity.ok(response));
+
+        List<Employee> employees = apiService.getEmployeesByNameSearch("Aman B+j");
+        assertEquals(response.getData(), employees);
+    }
+
+    @Test
+    public void test_getHighestSalaryWithPushdown_thenServerStatsAreUsed() {
+        ReflectionTestUtils.setField(apiService, "pushdown", true);
+        SalaryStats stats = new SalaryStats();
+        stats.setMax(450000);
+        SalaryStatsResponse response = new SalaryStatsResponse();
+        response.setData(stats);
+        Mockito.when(restTemplate.exchange(
+                        "http://localhost:8080/stats/salary", HttpMethod.GET, null, SalaryStatsResponse.class))
+                .thenReturn(ResponseEntity.ok(response));
+
+        assertEquals(450000, apiService.getHighestSalaryOfEmployees());
+    }
+
+    @Test
+    public void test_getTopTenWithPushdown_thenServerTopIsUsed() {
+        ReflectionTestUtils.setField(apiService, "pushdown", true);
+        Mockito.when(restTemplate.exchange(
+                        "http://localhost:8080/top?by=salary&k=10", HttpMethod.GET, null, EmployeeResponse.class))
+                .thenReturn(prepareEmployeeResponse());
+
+        assertEquals(
+                List.of("Aman Bajpayee", "Aman Agrwal", "Sagar Agrwal"),
+                apiService.getTopTenHighestEarningEmployeeNames());
+    }
+
+    @Test
+    public void test_readsWithReadySnapshot_thenUpstreamIsNotCalled() {
+        snapshot.replaceAll(prepareEmployeeResponse().getBody().getData());
+
+        assertEquals(prepareEmployeeResponse().getBody().getData(), apiService.getAllEmployees());
+        assertEquals(2, apiService.getEmployeesByNameSearch("Aman").size());
+        assertEquals("abc-087", apiService.getEmployeeById("abc-087").getId());
+        assertEquals(2000, apiService.getHighestSalaryOfEmployees());
+        assertThrows(HttpClientErrorException.NotFound.class, () -> apiService.getEmployeeById("missing"));
+        Mockito.verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    public void test_writesWithReadySnapshot_thenSnapshotIsUpdated() {
+        snapshot.replaceShard(
+                "http://localhost:8080", prepareEmployeeResponse().getBody().getData(), 1);
+        Mockito.when(restTemplate.exchange(
+                        eq("http://localhost:8080"),
+                        eq(HttpMethod.DELETE),
+                        Mockito.any(HttpEntity.class),
+                        eq(String.class)))
+                .thenReturn(ResponseEntity.ok("SUCCESS"));
+
+        apiService.deleteEmployeeById("aman agrwal");
+
+        assertTrue(snapshot.findById("abc-087").isEmpty());
+        assertEquals(2, snapshot.getEmployees().size());
+    }
+
+    @Test
+    public void test_deleteAcrossShards_thenOnlyThatShardsEmployeeLeavesSnapshot() {
+        useShards();
+        List<String> ringOrder = new EmployeeShards(SHARDS, 128).inRingOrder("aman agrwal");
+        Employee other = createEmployee("abc-001", "Aman Agrwal", 30, 1000, "t", "e");
+        Employee deleted = createEmployee("abc-002", "Aman Agrwal", 30, 1000, "t", "e");
+        snapshot.replaceShard(ringOrder.get(1), List.of(other), SHARDS.size());
+        snapshot.replaceShard(ringOrder.get(0), List.of(deleted), SHARDS.size());
+        Mockito.when(restTemplate.exchange(
+                        eq(ringOrder.get(0)), eq(HttpMethod.DELETE), Mockito.any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("{\"data\":true}"));
+
+        apiService.deleteEmployeeById("aman agrwal");
+
+        assertTrue(snapshot.findById("abc-002").isEmpty());
+        assertEquals(List.of(other), snapshot.getEmployees());
+    }
+
+    @Test
+    public void test_topTenAcrossShards_thenShardResultsAreMerged() {
+        useShards();
+        ReflectionTestUtils.setField(apiService, "pushdown", true);
+        for (int shard = 0; shard < SHARDS.size(); shard++) {
+            EmployeeResponse response = new EmployeeResponse();
+            response.setData(List.of(
+                    createEmployee(UUID.randomUUID().toString(), "High " + shard, 30, 9000 - shard, "t", "e"),
+                    createEmployee(UUID.randomUUID().toString(), "Low " + shard, 30, 1000 - shard, "t", "e")));
+            Mockito.when(restTemplate.exchange(
+                            SHARDS.get(shard) + "/top?by=salary&k=10", HttpMethod.GET, null, EmployeeResponse.class))
+                    .thenReturn(ResponseEntity.ok(response));
+        }
+
+        assertEquals(List.of("High 0", "High 1", "Low 0", "Low 1"), apiService.getTopTenHighestEarningEmployeeNames());
+    }
+
+    @Test
+    public void test_pageAcrossShards_thenMergedPageResumesFromItsLastEmployee() {
+        useShards();
+        List<Employee> employees = List.of(
+                createEmployee(new UUID(0, 1).toString(), "Ann", 30, 1000, "t", "e"),
+                createEmployee(new UUID(0, 2).toString(), "Bob", 30, 2000, "t", "e"),
+                createEmployee(new UUID(0, 3).toString(), "Cid", 30, 3000, "t", "e"));
+        for (int shard = 0; shard < SHARDS.size(); shard++) {
+            Page<Employee> page = new Page<>();
+            page.setItems(shard == 0 ? List.of(employees.get(0), employees.get(2)) : List.of(employees.get(1)));
+            PageResponse<Employee> response = new PageResponse<>();
+            response.setData(page);
+            Mockito.when(restTemplate.exchange(
+                            eq(SHARDS.get(shard) + "/page?sort=salary&order=asc&limit=2"),
+                            eq(HttpMethod.GET),
+                            Mockito.isNull(),
+                            Mockito.<ParameterizedTypeReference<PageResponse<Employee>>>any()))
+                    .thenReturn(ResponseEntity.ok(response));
+        }
+
+        Page<Employee> page = apiService.getEmployeePage("salary", "asc", null, 2);
+
+        assertEquals(employees.subList(0, 2), page.getItems());
+        assertEquals("MjAwMAowMDAwMDAwMC0wMDAwLTAwMDAtMDAwMC0wMDAwMDAwMDAwMDI", page.getNextCursor());
+    }
+
+    @Test
+    public void test_createAcrossShards_thenSentToTheShardOwningTheNewId() {
+        useShards();
+        ArgumentCaptor<String> url = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<HttpEntity<?>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        Mockito.when(restTemplate.exchange(
+                        url.capture(), eq(HttpMethod.POST), request.capture(), eq(SingleEmployeeResponse.class)))
+                .thenReturn(ResponseEntity.ok(getEmployeeResponse()));
+
+        apiService.createEmployee(EmployeeInput.builder().name("Aman Bajpayee").build());
+
+        String id = ((EmployeeInput) request.getValue().getBody()).getId();
+        String key = request.getValue().getHeaders().getFirst("Idempotency-Key");
+        assertEquals(UUID.nameUUIDFromBytes(key.getBytes()).toString(), id);
+        assertEquals(new EmployeeShards(SHARDS, 128).forKey(id), url.getValue());
+    }
+
     private SingleEmployeeResponse getEmployeeResponse() {
         Employee employee = createEmployee("abc-098", "Aman Bajpayee", 23, 2000, "Sr Executive", "abc@avc.com");
         SingleEmployeeResponse employeeResponse2 = new SingleEmployeeResponse();
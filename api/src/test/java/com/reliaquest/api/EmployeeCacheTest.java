@@ -0,0 +1,150 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeCache;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.HttpClientErrorException;
+
+public class EmployeeCacheTest {
+
+    private final EmployeeCache cache =
+            new EmployeeCache(Duration.ofMinutes(5), Duration.ofSeconds(30), DataSize.ofMegabytes(1));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private static Employee employee(String id) {
+        return Employee.builder().id(id).employee_name("Name " + id).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    public void test_loaded_thenServedFromCache() {
+        Optional<Employee> first = cache.get("1", id -> {
+            loads.incrementAndGet();
+            return Optional.of(employee(id));
+        });
+        Optional<Employee> second = cache.get("1", id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertSame(first.get(), second.get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void test_slowLoad_thenOtherKeysAreNotBlocked() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Optional<Employee>> slow = CompletableFuture.supplyAsync(() -> cache.get("slow", id -> {
+            loading.countDown();
+            await(release);
+            return Optional.of(employee(id));
+        }));
+        loading.await();
+
+        /* Every other id, whichever bin it hashes to, is read and written while the slow load is in flight. */
+        CompletableFuture<Void> others = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 1000; i++) {
+                cache.put(employee("put-" + i));
+                cache.get("get-" + i, id -> Optional.of(employee(id)));
+                cache.invalidate("put-" + i);
+            }
+        });
+        others.get(5, TimeUnit.SECONDS);
+
+        release.countDown();
+        assertEquals("slow", slow.get(5, TimeUnit.SECONDS).get().getId());
+    }
+
+    @Test
+    public void test_concurrentLookups_thenOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Optional<Employee>> first = CompletableFuture.supplyAsync(() -> cache.get("1", id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return Optional.of(employee(id));
+        }));
+        loading.await();
+        CompletableFuture<Optional<Employee>> second = CompletableFuture.supplyAsync(() -> cache.get("1", id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        }));
+
+        release.countDown();
+
+        assertSame(
+                first.get(5, TimeUnit.SECONDS).get(),
+                second.get(5, TimeUnit.SECONDS).get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void test_failedLoad_thenRethrownAndNotCached() {
+        HttpClientErrorException tooManyRequests =
+                HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null);
+
+        assertSame(
+                tooManyRequests,
+                assertThrows(
+                        HttpClientErrorException.class,
+                        () -> cache.get("1", id -> {
+                            throw tooManyRequests;
+                        })));
+        assertEquals("1", cache.get("1", id -> Optional.of(employee(id))).get().getId());
+    }
+
+    @Test
+    public void test_failedLoadWithWaiter_thenWaiterGetsSameException() throws Exception {
+        HttpClientErrorException tooManyRequests =
+                HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Optional<Employee>> first = CompletableFuture.supplyAsync(() -> cache.get("1", id -> {
+            loading.countDown();
+            await(release);
+            throw tooManyRequests;
+        }));
+        loading.await();
+        CountDownLatch waiting = new CountDownLatch(1);
+        CompletableFuture<Throwable> second = CompletableFuture.supplyAsync(() -> {
+            waiting.countDown();
+            try {
+                cache.get("1", id -> Optional.empty());
+                return null;
+            } catch (RuntimeException e) {
+                return e;
+            }
+        });
+        waiting.await();
+        /* Gives the second lookup time to find the load in flight and wait on it. */
+        Thread.sleep(50);
+
+        release.countDown();
+
+        assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertSame(tooManyRequests, second.get(5, TimeUnit.SECONDS));
+    }
+}
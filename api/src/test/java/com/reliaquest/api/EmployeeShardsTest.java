@@ -0,0 +1,88 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.service.EmployeeShards;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeShardsTest {
+
+    private static final List<String> THREE = List.of("http://a", "http://b", "http://c");
+
+    private static final List<String> KEYS = IntStream.range(0, 30000)
+            .mapToObj(i -> new UUID(i, i * 31L).toString())
+            .toList();
+
+    @Test
+    public void test_forKey_thenKeysAreSpreadEvenly() {
+        EmployeeShards shards = new EmployeeShards(THREE, 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        KEYS.forEach(key -> counts.merge(shards.forKey(key), 1, Integer::sum));
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 8000 && count < 12000, counts.toString()));
+    }
+
+    @Test
+    public void test_addShard_thenOnlyKeysMovingToItChangeOwner() {
+        EmployeeShards before = new EmployeeShards(THREE, 128);
+        EmployeeShards after = new EmployeeShards(List.of("http://a", "http://b", "http://c", "http://d"), 128);
+
+        long moved = KEYS.stream()
+                .filter(key -> !before.forKey(key).equals(after.forKey(key)))
+                .peek(key -> assertEquals("http://d", after.forKey(key)))
+                .count();
+
+        assertTrue(moved > KEYS.size() / 6 && moved < KEYS.size() / 3, "moved " + moved);
+    }
+
+    @Test
+    public void test_inRingOrder_thenOwnerFirstAndEveryShardOnce() {
+        EmployeeShards shards = new EmployeeShards(THREE, 128);
+
+        List<String> order = shards.inRingOrder("some-key");
+
+        assertEquals(shards.forKey("some-key"), order.get(0));
+        assertEquals(3, order.stream().distinct().count());
+    }
+
+    @Test
+    public void test_merge_thenSortedAndLimited() {
+        List<List<Integer>> sorted = List.of(List.of(1, 4, 7), List.of(2, 5), List.of(), List.of(3, 6, 8, 9));
+
+        assertEquals(
+                List.of(1, 2, 3, 4, 5, 6, 7, 8, 9),
+                EmployeeShards.merge(sorted, Comparator.naturalOrder(), Integer.MAX_VALUE));
+        assertEquals(List.of(1, 2, 3, 4), EmployeeShards.merge(sorted, Comparator.naturalOrder(), 4));
+    }
+
+    @Test
+    public void test_scatter_thenResultsInShardOrderAndFailuresRethrown() {
+        EmployeeShards shards = new EmployeeShards(THREE, 128);
+
+        assertEquals(List.of("http://a!", "http://b!", "http://c!"), shards.scatter(url -> url + "!"));
+
+        IllegalStateException failure = new IllegalStateException("down");
+        assertSame(
+                failure,
+                assertThrows(
+                        IllegalStateException.class,
+                        () -> shards.scatter(url -> {
+                            if (url.equals("http://b")) {
+                                throw failure;
+                            }
+                            return url;
+                        })));
+        shards.shutdown();
+    }
+}
@@ -0,0 +1,66 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.warmup.FirstMinuteLatency;
+import com.reliaquest.api.warmup.StartupWarmup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class FirstMinuteLatencyTest {
+
+    private final FirstMinuteLatency latency = new FirstMinuteLatency();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(latency, "registry", new SimpleMeterRegistry());
+    }
+
+    private void get(String path, String warmupHeader) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (warmupHeader != null) {
+            request.addHeader(StartupWarmup.WARMUP_HEADER, warmupHeader);
+        }
+        latency.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    @Test
+    public void test_windowOpen_thenOnlyCallerRequestsAreTimed() throws Exception {
+        get("/", null);
+        latency.open(Duration.ofMinutes(1));
+
+        get("/", null);
+        get("/search/a", null);
+        get("/", latency.warmupToken());
+        get("/actuator/health/readiness", null);
+
+        assertEquals(2, latency.close().count());
+    }
+
+    @Test
+    public void test_windowClosed_thenRequestsAreNotTimed() throws Exception {
+        latency.open(Duration.ofMinutes(1));
+        get("/", null);
+        latency.close();
+
+        get("/", null);
+
+        assertEquals(1, latency.close().count());
+    }
+
+    @Test
+    public void test_warmupHeaderWithoutToken_thenRequestIsTimed() throws Exception {
+        latency.open(Duration.ofMinutes(1));
+
+        get("/", "true");
+        get("/", "");
+
+        assertEquals(2, latency.close().count());
+    }
+}
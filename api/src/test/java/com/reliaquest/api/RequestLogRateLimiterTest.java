@@ -0,0 +1,69 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.reliaquest.api.logging.RequestLogRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RequestLogRateLimiterTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    public void setUp() {
+        RequestLogRateLimiter limiter = new RequestLogRateLimiter();
+        limiter.setLoggerPrefix("com.reliaquest.api.controller");
+        limiter.setPermitsPerSecond(5);
+        limiter.setContext(context);
+        limiter.start();
+        context.addTurboFilter(limiter);
+
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+
+    @Test
+    public void test_burst_thenInfoLimitedAndWarningsKept() {
+        Logger controller = context.getLogger("com.reliaquest.api.controller.EmployeeController");
+
+        for (int i = 0; i < 50; i++) {
+            controller.info("request {}", i);
+        }
+        controller.warn("still logged");
+
+        long info = appender.list.stream()
+                .filter(event ->
+                        event.getLevel() == Level.INFO && event.getLoggerName().equals(controller.getName()))
+                .count();
+        /* A burst can straddle a second boundary and get a second allowance. */
+        assertTrue(info == 5 || info == 10, "info lines " + info);
+        assertEquals(
+                1,
+                appender.list.stream()
+                        .filter(event -> event.getLevel() == Level.WARN)
+                        .count());
+    }
+
+    @Test
+    public void test_otherLoggers_thenNotLimited() {
+        Logger service = context.getLogger("com.reliaquest.api.service.EmployeeApiService");
+
+        for (int i = 0; i < 50; i++) {
+            service.info("request {}", i);
+        }
+
+        assertEquals(50, appender.list.size());
+    }
+}
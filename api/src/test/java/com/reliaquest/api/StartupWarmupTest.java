@@ -0,0 +1,111 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeAnalytics;
+import com.reliaquest.api.service.EmployeeSnapshot;
+import com.reliaquest.api.warmup.FirstMinuteLatency;
+import com.reliaquest.api.warmup.StartupWarmup;
+import com.reliaquest.tracing.TraceRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class StartupWarmupTest {
+
+    private final EmployeeSnapshot snapshot = Mockito.mock(EmployeeSnapshot.class);
+
+    private final AtomicBoolean snapshotReady = new AtomicBoolean();
+
+    private final StartupWarmup warmup = new StartupWarmup();
+
+    private final List<Employee> employees = List.of(
+            Employee.builder()
+                    .id("1")
+                    .employee_name("John Doe")
+                    .employee_salary(50000)
+                    .build(),
+            Employee.builder()
+                    .id("2")
+                    .employee_name("Jane Roe")
+                    .employee_salary(90000)
+                    .build());
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(snapshot.isReady()).thenAnswer(invocation -> snapshotReady.get());
+        Mockito.when(snapshot.getEmployees()).thenReturn(employees);
+        FirstMinuteLatency firstMinute = new FirstMinuteLatency();
+        ReflectionTestUtils.setField(firstMinute, "registry", new SimpleMeterRegistry());
+
+        ReflectionTestUtils.setField(warmup, "snapshot", snapshot);
+        ReflectionTestUtils.setField(warmup, "analytics", Mockito.mock(EmployeeAnalytics.class));
+        ReflectionTestUtils.setField(
+                warmup, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        ReflectionTestUtils.setField(warmup, "traceRecorder", new TraceRecorder(10));
+        ReflectionTestUtils.setField(warmup, "firstMinute", firstMinute);
+        ReflectionTestUtils.setField(warmup, "environment", new MockEnvironment());
+        ReflectionTestUtils.setField(warmup, "enabled", true);
+        ReflectionTestUtils.setField(warmup, "eventsEnabled", true);
+        ReflectionTestUtils.setField(warmup, "requests", 10);
+        ReflectionTestUtils.setField(warmup, "reportWindow", Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        warmup.stop();
+    }
+
+    private Health awaitUp() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        Health health = warmup.health();
+        while (!health.getStatus().equals(Status.UP) && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+            health = warmup.health();
+        }
+        return health;
+    }
+
+    @Test
+    public void test_snapshotLoaded_thenOutOfServiceUntilWarm() throws InterruptedException {
+        ReflectionTestUtils.setField(warmup, "timeout", Duration.ofMinutes(1));
+        assertEquals(Status.OUT_OF_SERVICE, warmup.health().getStatus());
+
+        warmup.start();
+        Thread.sleep(200);
+        assertEquals(Status.OUT_OF_SERVICE, warmup.health().getStatus());
+
+        snapshotReady.set(true);
+        Health health = awaitUp();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(2, health.getDetails().get("loaded"));
+    }
+
+    @Test
+    public void test_snapshotNeverLoads_thenUpAfterTimeout() throws InterruptedException {
+        ReflectionTestUtils.setField(warmup, "timeout", Duration.ofMillis(500));
+        long started = System.nanoTime();
+
+        warmup.start();
+        assertEquals(Status.OUT_OF_SERVICE, warmup.health().getStatus());
+        Health health = awaitUp();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(0, health.getDetails().get("loaded"));
+        assertTrue(System.nanoTime() - started >= Duration.ofMillis(500).toNanos());
+        assertTrue(health.getDetails().containsKey("timeToReady"));
+    }
+}
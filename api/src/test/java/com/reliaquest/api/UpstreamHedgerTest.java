@@ -0,0 +1,175 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.service.UpstreamHedger;
+import com.reliaquest.api.service.UpstreamPriority;
+import com.reliaquest.api.service.UpstreamScheduler;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+public class UpstreamHedgerTest {
+
+    private static final int WARM_UP = 30;
+
+    /*
+     * Answers quickly, except for the attempt right after the warm-up, which takes the given time.
+     */
+    private static Supplier<String> slowAfterWarmUp(AtomicInteger calls, long slowMillis) {
+        return () -> {
+            int call = calls.incrementAndGet();
+            if (call == WARM_UP + 1) {
+                sleep(slowMillis);
+                return "slow";
+            }
+            sleep(1);
+            return "fast";
+        };
+    }
+
+    private static void warmUp(UpstreamHedger hedger, AtomicInteger calls, Supplier<String> call) {
+        for (int i = 0; i < WARM_UP; i++) {
+            hedger.call("get", call);
+        }
+        /* A warm-up call that happened to outlive the p95 was hedged, which took an extra call. */
+        calls.set(WARM_UP);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void test_slowAttempt_thenHedgeAnswersFirst() {
+        UpstreamHedger hedger = new UpstreamHedger(
+                new UpstreamScheduler(4), true, 1.0, Duration.ofMillis(5), 100, Duration.ofSeconds(31));
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<String> call = slowAfterWarmUp(calls, 2000);
+        warmUp(hedger, calls, call);
+
+        long started = System.nanoTime();
+        String result = hedger.call("get", call);
+
+        assertEquals("fast", result);
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 1000);
+        assertEquals(WARM_UP + 2, calls.get());
+    }
+
+    @Test
+    public void test_budgetSpent_thenNoHedgeIsSent() {
+        UpstreamHedger hedger = new UpstreamHedger(
+                new UpstreamScheduler(4), true, 0.0, Duration.ofMillis(5), 100, Duration.ofSeconds(31));
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<String> call = slowAfterWarmUp(calls, 200);
+        warmUp(hedger, calls, call);
+
+        assertEquals("slow", hedger.call("get", call));
+        assertEquals(WARM_UP + 1, calls.get());
+    }
+
+    @Test
+    public void test_failingCall_thenExceptionIsRethrownAsIs() {
+        UpstreamHedger hedger = new UpstreamHedger(
+                new UpstreamScheduler(4), true, 1.0, Duration.ofMillis(5), 100, Duration.ofSeconds(31));
+
+        assertThrows(
+                HttpClientErrorException.TooManyRequests.class,
+                () -> hedger.call("get", () -> {
+                    throw HttpClientErrorException.create(
+                            HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null);
+                }));
+    }
+
+    @Test
+    public void test_rateLimited_thenNoHedgeIsSentUntilPauseEnds() throws InterruptedException {
+        UpstreamScheduler scheduler = new UpstreamScheduler(4);
+        UpstreamHedger hedger =
+                new UpstreamHedger(scheduler, true, 1.0, Duration.ofMillis(5), 100, Duration.ofSeconds(1));
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<String> call = slowAfterWarmUp(calls, 200);
+        warmUp(hedger, calls, call);
+        /* Any upstream call answered 429, not necessarily a hedged one. */
+        assertThrows(
+                HttpClientErrorException.TooManyRequests.class,
+                () -> scheduler.call(UpstreamPriority.INTERACTIVE, () -> {
+                    throw HttpClientErrorException.create(
+                            HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null);
+                }));
+
+        String caller = Thread.currentThread().getName();
+        assertEquals("slow", hedger.call("get", call));
+        assertEquals(WARM_UP + 1, calls.get());
+        assertEquals(caller, hedger.call("get", () -> Thread.currentThread().getName()));
+
+        Thread.sleep(1000);
+        calls.set(WARM_UP);
+        assertEquals("fast", hedger.call("get", call));
+        assertEquals(WARM_UP + 2, calls.get());
+    }
+
+    @Test
+    public void test_disabled_thenCallRunsOnCallerThread() {
+        UpstreamHedger hedger = new UpstreamHedger(
+                new UpstreamScheduler(4), false, 1.0, Duration.ofMillis(5), 100, Duration.ofSeconds(31));
+
+        assertEquals(Thread.currentThread().getName(), hedger.call("get", () -> Thread.currentThread()
+                .getName()));
+    }
+
+    @Test
+    public void test_noFreeSlot_thenNoHedgeIsSentAndCallStaysOnCallerThread() throws InterruptedException {
+        UpstreamScheduler scheduler = new UpstreamScheduler(1);
+        UpstreamHedger hedger =
+                new UpstreamHedger(scheduler, true, 1.0, Duration.ofMillis(5), 100, Duration.ofSeconds(31));
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<String> call = slowAfterWarmUp(calls, 200);
+        warmUp(hedger, calls, call);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread other = new Thread(() -> scheduler.call(UpstreamPriority.INTERACTIVE, () -> {
+            holding.countDown();
+            awaitQuietly(done);
+            return null;
+        }));
+        other.start();
+        holding.await();
+
+        try {
+            String caller = Thread.currentThread().getName();
+            assertEquals("slow", hedger.call("get", call));
+            assertEquals(WARM_UP + 1, calls.get());
+            assertEquals(caller, hedger.call("get", () -> Thread.currentThread().getName()));
+        } finally {
+            done.countDown();
+            other.join();
+        }
+    }
+
+    @Test
+    public void test_noLatencyYet_thenCallRunsOnCallerThread() {
+        UpstreamHedger hedger = new UpstreamHedger(
+                new UpstreamScheduler(4), true, 1.0, Duration.ofMillis(5), 100, Duration.ofSeconds(31));
+
+        assertEquals(Thread.currentThread().getName(), hedger.call("get", () -> Thread.currentThread()
+                .getName()));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
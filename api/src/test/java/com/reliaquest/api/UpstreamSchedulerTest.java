@@ -0,0 +1,136 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.service.UpstreamPriority;
+import com.reliaquest.api.service.UpstreamScheduler;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+public class UpstreamSchedulerTest {
+
+    private final UpstreamScheduler scheduler = new UpstreamScheduler(1);
+
+    private final List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+    /*
+     * Occupies the only upstream slot until the returned latch is released.
+     */
+    private CountDownLatch holdSlot() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch holding = new CountDownLatch(1);
+        start(() -> scheduler.call(UpstreamPriority.INTERACTIVE, () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        holding.await();
+        return release;
+    }
+
+    private Thread enqueue(UpstreamPriority priority, String label) throws InterruptedException {
+        int before = scheduler.queued(priority);
+        Thread thread = start(() -> scheduler.call(priority, () -> order.add(label)));
+        while (scheduler.queued(priority) == before) {
+            Thread.sleep(1);
+        }
+        return thread;
+    }
+
+    private static Thread start(Runnable runnable) {
+        Thread thread = new Thread(runnable);
+        thread.start();
+        return thread;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void joinAll(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+    }
+
+    @Test
+    public void test_interactiveQueuedAfterRefresh_thenInteractiveRunsFirst() throws InterruptedException {
+        CountDownLatch release = holdSlot();
+        List<Thread> threads = List.of(
+                enqueue(UpstreamPriority.REFRESH, "refresh"), enqueue(UpstreamPriority.INTERACTIVE, "interactive"));
+
+        release.countDown();
+        joinAll(threads);
+
+        assertEquals(List.of("interactive", "refresh"), order);
+    }
+
+    @Test
+    public void test_sustainedInteractiveLoad_thenRefreshIsNotStarved() throws InterruptedException {
+        CountDownLatch release = holdSlot();
+        List<Thread> threads = new ArrayList<>();
+        threads.add(enqueue(UpstreamPriority.REFRESH, "refresh"));
+        for (int i = 0; i < 20; i++) {
+            threads.add(enqueue(UpstreamPriority.INTERACTIVE, "interactive-" + i));
+        }
+
+        release.countDown();
+        joinAll(threads);
+
+        /* Refresh has weight 1 against 16, so it goes after the first 16 interactive calls rather than after all 20. */
+        assertEquals(21, order.size());
+        assertEquals(16, order.indexOf("refresh"));
+    }
+
+    @Test
+    public void test_freeSlot_thenCallRunsWithoutQueueing() {
+        assertTrue(scheduler.call(UpstreamPriority.BULK, () -> true));
+        assertEquals(0, scheduler.queued(UpstreamPriority.BULK));
+    }
+
+    @Test
+    public void test_runAs_thenCallsAreReclassified() throws InterruptedException {
+        CountDownLatch release = holdSlot();
+        Thread bulk = start(() -> scheduler.runAs(
+                UpstreamPriority.BULK, () -> scheduler.call(UpstreamPriority.INTERACTIVE, () -> order.add("bulk"))));
+        while (scheduler.queued(UpstreamPriority.BULK) == 0) {
+            Thread.sleep(1);
+        }
+
+        assertEquals(0, scheduler.queued(UpstreamPriority.INTERACTIVE));
+        release.countDown();
+        bulk.join(5000);
+        assertEquals(List.of("bulk"), order);
+    }
+
+    @Test
+    public void test_tooManyRequests_thenRateLimitedWithinWindow() {
+        assertFalse(scheduler.rateLimitedWithin(Duration.ofMinutes(1)));
+
+        CompletableFuture<Object> call = scheduler.tryCallAsync(
+                UpstreamPriority.INTERACTIVE,
+                () -> {
+                    throw HttpClientErrorException.create(
+                            HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null);
+                },
+                Runnable::run);
+
+        assertTrue(call.isCompletedExceptionally());
+        assertTrue(scheduler.rateLimitedWithin(Duration.ofMinutes(1)));
+        assertFalse(scheduler.rateLimitedWithin(Duration.ZERO));
+        assertTrue(scheduler.hasFreeSlot());
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.WriteJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+public class WriteJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final EmployeeInput input = EmployeeInput.builder()
+            .name("John Doe")
+            .salary(50000)
+            .age(30)
+            .title("Engineer")
+            .build();
+
+    private WriteJournal open(int maxBatch, Duration maxDelay, DataSize compactAfter) {
+        return new WriteJournal(directory.resolve("write.journal"), objectMapper, maxBatch, maxDelay, compactAfter);
+    }
+
+    private WriteJournal open() {
+        return open(32, Duration.ZERO, DataSize.ofMegabytes(1));
+    }
+
+    @Test
+    public void test_reopen_thenOnlyUnsettledOperationsArePending() throws IOException {
+        WriteJournal journal = open();
+        journal.append(WriteJournal.Entry.create("a", input));
+        journal.append(WriteJournal.Entry.delete("b", "John Doe"));
+        journal.append(WriteJournal.Entry.create("c", input));
+        journal.append(WriteJournal.Entry.ack("a", null));
+        journal.append(WriteJournal.Entry.fail("c", "400 Bad Request"));
+        journal.close();
+
+        List<WriteJournal.Entry> pending = open().pending();
+
+        assertEquals(List.of(WriteJournal.Entry.delete("b", "John Doe")), pending);
+    }
+
+    @Test
+    public void test_tornLastLine_thenEarlierEntriesAreRecovered() throws IOException {
+        WriteJournal journal = open();
+        journal.append(WriteJournal.Entry.create("a", input));
+        journal.close();
+        Files.write(
+                directory.resolve("write.journal"),
+                "{\"key\":\"b\",\"kind\":\"CRE".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        assertEquals(List.of(WriteJournal.Entry.create("a", input)), open().pending());
+    }
+
+    @Test
+    public void test_concurrentAppends_thenSyncsAreShared() throws Exception {
+        WriteJournal journal = open(64, Duration.ofMillis(5), DataSize.ofMegabytes(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        journal.bindTo(registry);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            Thread appender = new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    journal.append(WriteJournal.Entry.create(thread + "-" + i, input));
+                }
+            });
+            appender.start();
+            threads.add(appender);
+        }
+        for (Thread thread : threads) {
+            thread.join(10000);
+        }
+
+        double appends =
+                registry.get("employee.journal.appends").functionCounter().count();
+        double syncs = registry.get("employee.journal.syncs").functionCounter().count();
+        assertEquals(400, appends);
+        assertTrue(syncs < appends, "expected fewer syncs than appends, got " + syncs);
+        journal.close();
+        assertEquals(400, open().pending().size());
+    }
+
+    @Test
+    public void test_outgrowsCompactionThreshold_thenFileShrinksToOpenOperations() throws IOException {
+        WriteJournal journal = open(1, Duration.ZERO, DataSize.ofKilobytes(4));
+        for (int i = 0; i < 200; i++) {
+            journal.append(WriteJournal.Entry.create("k" + i, input));
+            journal.append(WriteJournal.Entry.ack("k" + i, null));
+        }
+        journal.append(WriteJournal.Entry.create("last", input));
+
+        assertTrue(Files.size(directory.resolve("write.journal")) < 4096);
+        journal.close();
+        assertEquals(List.of(WriteJournal.Entry.create("last", input)), open().pending());
+    }
+}
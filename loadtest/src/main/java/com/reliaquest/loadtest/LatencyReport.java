@@ -0,0 +1,85 @@
+package com.reliaquest.loadtest;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms per operation and overall, recorded in nanoseconds with three significant digits. Responses with
+ * status 2xx or 404 count as successes: 404 is the api's answer for a missing employee, not a failure to serve the
+ * request. Anything else, including 429s and connection errors (status 0), counts as an error.
+ */
+public class LatencyReport {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Histogram overall = new ConcurrentHistogram(3);
+    private final Map<Operation, Histogram> byOperation = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errorsByOperation = new EnumMap<>(Operation.class);
+    private final AtomicLong errors = new AtomicLong();
+    private long elapsedNanos;
+
+    public LatencyReport(Collection<Operation> operations) {
+        for (final var operation : operations) {
+            byOperation.put(operation, new ConcurrentHistogram(3));
+            errorsByOperation.put(operation, new AtomicLong());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, int status) {
+        overall.recordValue(latencyNanos);
+        byOperation.get(operation).recordValue(latencyNanos);
+        if (!(status >= 200 && status < 300) && status != 404) {
+            errors.incrementAndGet();
+            errorsByOperation.get(operation).incrementAndGet();
+        }
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long count() {
+        return overall.getTotalCount();
+    }
+
+    public double throughput() {
+        return elapsedNanos == 0 ? 0 : count() / (elapsedNanos / 1e9);
+    }
+
+    public double errorRate() {
+        return count() == 0 ? 0 : (double) errors.get() / count();
+    }
+
+    public Duration p99() {
+        return Duration.ofNanos(overall.getValueAtPercentile(99));
+    }
+
+    public String format() {
+        final var table = new StringBuilder();
+        table.append("%-14s %8s %7s %9s %9s %9s %9s%n"
+                .formatted("operation", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        byOperation.forEach((operation, histogram) -> table.append(row(
+                operation.label(), histogram, errorsByOperation.get(operation).get())));
+        table.append(row("all", overall, errors.get()));
+        table.append("throughput %.1f req/s, error rate %.2f%%%n".formatted(throughput(), errorRate() * 100));
+        return table.toString();
+    }
+
+    private static String row(String label, Histogram histogram, long errors) {
+        return "%-14s %8d %7d %9.2f %9.2f %9.2f %9.2f%n"
+                .formatted(
+                        label,
+                        histogram.getTotalCount(),
+                        errors,
+                        histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                        histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                        histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                        histogram.getMaxValue() / NANOS_PER_MILLI);
+    }
+}
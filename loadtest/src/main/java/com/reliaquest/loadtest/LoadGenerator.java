@@ -0,0 +1,232 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Open-model traffic generator. Arrival times follow a Poisson process at the configured rate and never wait for
+ * earlier responses, so a slow api builds up a backlog instead of quietly lowering the offered load. Latency is measured
+ * from each request's scheduled time rather than its actual send time, which keeps scheduling delays in the numbers
+ * (no coordinated omission).
+ *
+ * <p>The schedule, the chosen operations and their parameters all come from one seeded generator on the dispatch
+ * thread. The only timing-dependent choice is which id a delete targets: it takes the oldest employee created by this
+ * run, or a random id that does not exist (and answers 404) when no create has completed yet.
+ */
+@Slf4j
+public class LoadGenerator {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestSettings settings;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SplittableRandom random;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private final List<String> ids = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final Queue<String> created = new ConcurrentLinkedQueue<>();
+
+    public LoadGenerator(LoadTestSettings settings, String baseUrl) {
+        this.settings = settings;
+        this.baseUrl = baseUrl;
+        this.random = new SplittableRandom(settings.seed());
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            final var thread = new Thread(runnable, "load-generator-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        this.operations = settings.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public LatencyReport run() throws IOException, InterruptedException {
+        loadEmployees();
+        final var report = new LatencyReport(settings.mix().keySet());
+        final var inFlight = new Phaser(1);
+        final long warmupNanos = settings.warmup().toNanos();
+        final long endNanos = warmupNanos + settings.duration().toNanos();
+        final double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+
+        log.info("Sending traffic for {} after {} warm-up", settings.duration(), settings.warmup());
+        final long start = System.nanoTime();
+        long scheduled = 0;
+        while (true) {
+            scheduled += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (scheduled >= endNanos) {
+                break;
+            }
+            final var operation = nextOperation();
+            final var request = request(operation);
+            final long intended = start + scheduled;
+            final boolean measured = scheduled >= warmupNanos;
+
+            final long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.register();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+                final long latency = System.nanoTime() - intended;
+                final int status = error == null ? response.statusCode() : 0;
+                if (operation == Operation.CREATE && status == 200) {
+                    rememberCreated(response.body());
+                }
+                if (measured) {
+                    report.record(operation, latency, status);
+                }
+                inFlight.arriveAndDeregister();
+            });
+        }
+        report.finish(System.nanoTime() - start - warmupNanos);
+
+        try {
+            inFlight.awaitAdvanceInterruptibly(
+                    inFlight.arriveAndDeregister(), DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("{} requests still in flight after {}", inFlight.getRegisteredParties(), DRAIN_TIMEOUT);
+        }
+        executor.shutdownNow();
+        return report;
+    }
+
+    /*
+     * The ids and names of the starting dataset give getById and search something to hit. Read once, before any
+     * traffic, so the choices made from them are deterministic.
+     */
+    private void loadEmployees() throws IOException, InterruptedException {
+        final var response = client.send(get("/"), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not load employees: HTTP " + response.statusCode());
+        }
+        for (final JsonNode employee : objectMapper.readTree(response.body())) {
+            ids.add(employee.path("id").asText());
+            names.add(employee.path("employee_name").asText());
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("The mock server has no employees");
+        }
+        log.info("Loaded {} employees to draw request parameters from", ids.size());
+    }
+
+    private Operation nextOperation() {
+        final int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    private HttpRequest request(Operation operation) {
+        return switch (operation) {
+            case GET_ALL -> get("/");
+            case SEARCH -> get("/search/"
+                    + URLEncoder.encode(searchFragment(), StandardCharsets.UTF_8)
+                            .replace("+", "%20"));
+            case GET_BY_ID -> get("/" + ids.get(random.nextInt(ids.size())));
+            case HIGHEST_SALARY -> get("/highestSalary");
+            case TOP_TEN -> get("/topTenHighestEarningEmployeeNames");
+            case CREATE -> HttpRequest.newBuilder(uri("/"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(createBody()))
+                    .build();
+            case DELETE -> HttpRequest.newBuilder(uri("/" + deleteId()))
+                    .DELETE()
+                    .build();
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    /*
+     * A random slice of a random existing name, at least three characters long when the name allows it.
+     */
+    private String searchFragment() {
+        final String name = names.get(random.nextInt(names.size()));
+        final int length = Math.min(name.length(), 3 + random.nextInt(4));
+        final int offset = random.nextInt(name.length() - length + 1);
+        return name.substring(offset, offset + length);
+    }
+
+    private String createBody() {
+        final int index = random.nextInt(1_000_000);
+        try {
+            return objectMapper.writeValueAsString(Map.of(
+                    "name",
+                    "Load Test " + index,
+                    "salary",
+                    random.nextInt(30000, 500000),
+                    "age",
+                    random.nextInt(16, 70),
+                    "title",
+                    "Load Tester"));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * The fallback id is drawn every time so that the random sequence, and with it the rest of the schedule, does not
+     * depend on how many creates have completed.
+     */
+    private String deleteId() {
+        final var fallback = new UUID(random.nextLong(), random.nextLong());
+        final String id = created.poll();
+        return id != null ? id : fallback.toString();
+    }
+
+    private void rememberCreated(String body) {
+        try {
+            final var id = objectMapper.readTree(body).path("id");
+            if (!id.isMissingNode()) {
+                created.add(id.asText());
+            }
+        } catch (IOException e) {
+            log.debug("Unreadable create response: {}", e.getMessage());
+        }
+    }
+}
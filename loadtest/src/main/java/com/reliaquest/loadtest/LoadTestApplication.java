@@ -0,0 +1,123 @@
+package com.reliaquest.loadtest;
+
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the mock server (or {@code --shards} of them, each generating its share of the employees from its own seed)
+ * and the api in this JVM on random ports, drives traffic at the api with
+ * {@link LoadGenerator} and prints a {@link LatencyReport}. Exits with status 1 when the run misses its p99 objective or
+ * error budget, so it can gate a change locally.
+ *
+ * <p>Both modules ship an {@code application.yml} and only one of them would be found on this classpath, so neither is
+ * read: each application gets the properties it needs passed in explicitly.
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    private static final String NO_CONFIG_FILE = "loadtest-none";
+
+    public static void main(String[] args) throws Exception {
+        final var settings = LoadTestSettings.from(args);
+        log.info("Load test {}", settings);
+
+        final List<ConfigurableApplicationContext> servers = new ArrayList<>();
+        try {
+            for (int shard = 0; shard < settings.shards(); shard++) {
+                servers.add(start(ServerApplication.class, serverProperties(settings, shard)));
+            }
+            run(settings, servers.stream().map(LoadTestApplication::port).toList());
+        } finally {
+            servers.forEach(ConfigurableApplicationContext::close);
+        }
+    }
+
+    private static void run(LoadTestSettings settings, List<Integer> serverPorts) throws Exception {
+        try (var api = start(ApiApplication.class, apiProperties(settings, serverPorts))) {
+            final var report = new LoadGenerator(settings, "http://localhost:" + port(api)).run();
+            log.info("Results over {}:\n{}", settings.duration(), report.format());
+
+            final boolean sloMet = report.p99().compareTo(settings.sloP99()) <= 0;
+            final boolean errorsMet = report.errorRate() <= settings.maxErrorRate();
+            log.info(
+                    "p99 {} ms against objective {} ms: {}; error rate {} against budget {}: {}",
+                    report.p99().toMillis(),
+                    settings.sloP99().toMillis(),
+                    sloMet ? "met" : "MISSED",
+                    "%.4f".formatted(report.errorRate()),
+                    settings.maxErrorRate(),
+                    errorsMet ? "met" : "MISSED");
+            if (!sloMet || !errorsMet) {
+                System.exit(1);
+            }
+        }
+    }
+
+    /*
+     * Shards split the employees between them and are seeded apart, so no two of them generate the same ids.
+     */
+    private static Map<String, Object> serverProperties(LoadTestSettings settings, int shard) {
+        final Map<String, Object> properties = new HashMap<>(Map.of(
+                "spring.application.name",
+                "mock-employee-api",
+                "server.port",
+                0,
+                "server.compression.enabled",
+                true,
+                "server.compression.mime-types",
+                "application/json,application/x-jackson-smile,application/cbor",
+                "mock.employees.max",
+                settings.employees() / settings.shards() + (shard < settings.employees() % settings.shards() ? 1 : 0),
+                "mock.employees.seed",
+                settings.seed() + shard,
+                "mock.rate-limit.enabled",
+                settings.rateLimit()));
+        // left unset, the server draws them from its seed
+        if (settings.rateLimitRequests() != null) {
+            properties.put("mock.rate-limit.requests", settings.rateLimitRequests());
+        }
+        if (settings.rateLimitBackoff() != null) {
+            properties.put("mock.rate-limit.backoff", settings.rateLimitBackoff());
+        }
+        return properties;
+    }
+
+    private static Map<String, Object> apiProperties(LoadTestSettings settings, List<Integer> serverPorts) {
+        return Map.of(
+                "spring.application.name", "employee-api",
+                "server.port", 0,
+                "employee.server.urls",
+                        serverPorts.stream()
+                                .map("http://localhost:%d/api/v1/employee"::formatted)
+                                .collect(Collectors.joining(",")),
+                "employee.server.wire-format", settings.wireFormat(),
+                "employee.events.enabled", settings.events());
+    }
+
+    private static ConfigurableApplicationContext start(Class<?> application, Map<String, Object> properties) {
+        return new SpringApplicationBuilder(application)
+                .web(WebApplicationType.SERVLET)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(Map.of(
+                        "spring.config.name", NO_CONFIG_FILE,
+                        "logging.level.root", "WARN",
+                        "logging.level.com.reliaquest.loadtest", "INFO"))
+                .properties(properties)
+                .run();
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+}
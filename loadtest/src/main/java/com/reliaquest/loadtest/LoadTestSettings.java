@@ -0,0 +1,144 @@
+package com.reliaquest.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Knobs for a load test run, read from {@code --name=value} arguments. Everything that influences the generated traffic
+ * or the data behind it derives from {@code seed}, so two runs with the same arguments send the same requests.
+ *
+ * @param seed seeds the mock dataset, the server's rate limiter and the request schedule
+ * @param employees size of the mock dataset
+ * @param shards number of mock servers the dataset is split across
+ * @param rate mean arrival rate in requests per second; arrivals are Poisson and do not wait for responses
+ * @param warmup time at the start of the run whose requests are sent but not recorded
+ * @param duration measured time after the warm-up
+ * @param mix relative weight of each operation
+ * @param rateLimit whether the mock server rate limits the api
+ * @param rateLimitRequests requests the mock server allows before backing off, or null to draw it from the seed
+ * @param rateLimitBackoff how long the mock server rejects requests once over the limit, or null to draw it from the
+ *     seed
+ * @param wireFormat format the api uses to talk to the mock server
+ * @param events whether the api keeps its snapshot in sync over the server's event stream
+ * @param sloP99 p99 latency objective; the run fails if the measured p99 exceeds it
+ * @param maxErrorRate fraction of failed requests above which the run fails
+ */
+public record LoadTestSettings(
+        long seed,
+        int employees,
+        int shards,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        boolean rateLimit,
+        Integer rateLimitRequests,
+        Duration rateLimitBackoff,
+        String wireFormat,
+        boolean events,
+        Duration sloP99,
+        double maxErrorRate) {
+
+    static final String DEFAULT_MIX = "getAll=15,search=20,getById=35,highestSalary=10,topTen=10,create=5,delete=5";
+
+    static final Set<String> OPTIONS = Set.of(
+            "seed",
+            "employees",
+            "shards",
+            "rate",
+            "warmup",
+            "duration",
+            "mix",
+            "rate-limit",
+            "rate-limit-requests",
+            "rate-limit-backoff",
+            "wire-format",
+            "events",
+            "slo-p99",
+            "max-error-rate");
+
+    public static LoadTestSettings from(String... args) {
+        final Map<String, String> values = new HashMap<>();
+        for (final String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            final String name = arg.substring(2, arg.indexOf('='));
+            // a misspelt option would otherwise leave its default in place without any sign of it
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + OPTIONS);
+            }
+            values.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+        final var settings = new LoadTestSettings(
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("employees", "1000")),
+                Integer.parseInt(values.getOrDefault("shards", "1")),
+                Double.parseDouble(values.getOrDefault("rate", "50")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "30s")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Boolean.parseBoolean(values.getOrDefault("rate-limit", "false")),
+                values.containsKey("rate-limit-requests") ? Integer.valueOf(values.get("rate-limit-requests")) : null,
+                values.containsKey("rate-limit-backoff")
+                        ? DurationStyle.detectAndParse(values.get("rate-limit-backoff"))
+                        : null,
+                values.getOrDefault("wire-format", "json"),
+                Boolean.parseBoolean(values.getOrDefault("events", "true")),
+                DurationStyle.detectAndParse(values.getOrDefault("slo-p99", "250ms")),
+                Double.parseDouble(values.getOrDefault("max-error-rate", "0.01")));
+        if (settings.rate() <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        if (settings.shards() < 1) {
+            throw new IllegalArgumentException("shards must be at least 1");
+        }
+        return settings;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        Arrays.stream(mix.split(",")).map(entry -> entry.split("=")).forEach(entry -> {
+            if (entry.length != 2) {
+                throw new IllegalArgumentException(
+                        "Expected operation=weight in mix but got: " + String.join("=", entry));
+            }
+            final int weight = Integer.parseInt(entry[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("mix weights must not be negative");
+            }
+            weights.put(Operation.from(entry[0].trim()), weight);
+        });
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("mix must have a positive weight");
+        }
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        return ("seed=%d employees=%d shards=%d rate=%.1f/s warmup=%s duration=%s rate-limit=%s"
+                        + " rate-limit-requests=%s rate-limit-backoff=%s wire-format=%s events=%s mix=%s")
+                .formatted(
+                        seed,
+                        employees,
+                        shards,
+                        rate,
+                        warmup,
+                        duration,
+                        rateLimit,
+                        rateLimitRequests != null ? rateLimitRequests : "seeded",
+                        rateLimitBackoff != null ? rateLimitBackoff : "seeded",
+                        wireFormat,
+                        events,
+                        mix.entrySet().stream()
+                                .map(entry -> entry.getKey().label() + "=" + entry.getValue())
+                                .collect(Collectors.joining(",")));
+    }
+}
@@ -0,0 +1,31 @@
+package com.reliaquest.loadtest;
+
+import java.util.Arrays;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * The {@code IEmployeeController} endpoints the load test exercises, named as in the {@code mix} setting.
+ */
+@Getter
+@Accessors(fluent = true)
+@RequiredArgsConstructor
+public enum Operation {
+    GET_ALL("getAll"),
+    SEARCH("search"),
+    GET_BY_ID("getById"),
+    HIGHEST_SALARY("highestSalary"),
+    TOP_TEN("topTen"),
+    CREATE("create"),
+    DELETE("delete");
+
+    private final String label;
+
+    public static Operation from(String label) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.label.equalsIgnoreCase(label))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + label));
+    }
+}
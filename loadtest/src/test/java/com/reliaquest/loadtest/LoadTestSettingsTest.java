@@ -0,0 +1,92 @@
+package com.reliaquest.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class LoadTestSettingsTest {
+
+    @Test
+    public void test_noArguments_thenDefaults() {
+        final var settings = LoadTestSettings.from();
+
+        assertEquals(42, settings.seed());
+        assertEquals(1000, settings.employees());
+        assertEquals(1, settings.shards());
+        assertEquals(50, settings.rate());
+        assertEquals(Duration.ofSeconds(10), settings.warmup());
+        assertEquals(Duration.ofSeconds(30), settings.duration());
+        assertFalse(settings.rateLimit());
+        assertNull(settings.rateLimitRequests());
+        assertNull(settings.rateLimitBackoff());
+        assertEquals("json", settings.wireFormat());
+        assertTrue(settings.events());
+        assertEquals(Duration.ofMillis(250), settings.sloP99());
+        assertEquals(0.01, settings.maxErrorRate());
+        assertEquals(Operation.values().length, settings.mix().size());
+    }
+
+    @Test
+    public void test_arguments_thenParsed() {
+        final var settings = LoadTestSettings.from(
+                "--seed=7",
+                "--shards=3",
+                "--rate=200.5",
+                "--duration=5m",
+                "--rate-limit=true",
+                "--rate-limit-requests=12",
+                "--rate-limit-backoff=30s",
+                "--wire-format=json",
+                "--events=false",
+                "--slo-p99=1s");
+
+        assertEquals(7, settings.seed());
+        assertEquals(3, settings.shards());
+        assertEquals(200.5, settings.rate());
+        assertEquals(Duration.ofMinutes(5), settings.duration());
+        assertTrue(settings.rateLimit());
+        assertEquals(12, settings.rateLimitRequests());
+        assertEquals(Duration.ofSeconds(30), settings.rateLimitBackoff());
+        assertEquals("json", settings.wireFormat());
+        assertFalse(settings.events());
+        assertEquals(Duration.ofSeconds(1), settings.sloP99());
+    }
+
+    @Test
+    public void test_unknownOption_thenRejected() {
+        final var thrown = assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.from("--rat=100"));
+        assertTrue(thrown.getMessage().contains("--rat"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.from("--duraton=5m"));
+    }
+
+    @Test
+    public void test_malformedArgument_thenRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.from("rate=100"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.from("--rate"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.from("--rate=0"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.from("--shards=0"));
+    }
+
+    @Test
+    public void test_mix_thenWeightsByOperation() {
+        final var settings = LoadTestSettings.from("--mix=getAll=1, GETBYID = 9,delete=0");
+
+        assertEquals(Map.of(Operation.GET_ALL, 1, Operation.GET_BY_ID, 9, Operation.DELETE, 0), settings.mix());
+    }
+
+    @Test
+    public void test_badMix_thenRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.from("--mix=getAll=1,fetch=2"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.from("--mix=getAll"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.from("--mix=getAll=1=2"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.from("--mix=getAll=x"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.from("--mix=getAll=-1,create=2"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestSettings.from("--mix=getAll=0"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.reliaquest.server.benchmark;
+
+import com.reliaquest.server.service.IdempotencyTable;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-request cost of the idempotency table, kept full at 100,000 keys: a key seen for the first time (stored, and the
+ * oldest key trimmed) and a replay of a known key. Run with {@code -PjmhProfilers=gc} to see the allocation behind
+ * each new key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdempotencyTableBenchmark {
+
+    private static final int MAX_KEYS = 100_000;
+
+    private IdempotencyTable table;
+    private String[] known;
+
+    @Setup
+    public void setUp() {
+        table = new IdempotencyTable(Duration.ofHours(1), MAX_KEYS);
+        known = new String[MAX_KEYS / 2];
+        for (int i = 0; i < known.length; i++) {
+            known[i] = UUID.randomUUID().toString();
+            table.execute(known[i], Object::new);
+        }
+    }
+
+    @Benchmark
+    public Object firstSeen() {
+        return table.execute(UUID.randomUUID().toString(), Object::new);
+    }
+
+    @Benchmark
+    public Object replay() {
+        return table.execute(known[ThreadLocalRandom.current().nextInt(known.length)], Object::new);
+    }
+
+    /* Key generation alone, to subtract from firstSeen. */
+    @Benchmark
+    public String keyOnly() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,107 @@
+package com.reliaquest.server.benchmark;
+
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.HeapMockEmployeeStore;
+import com.reliaquest.server.store.MockEmployeeSort;
+import com.reliaquest.server.store.MockEmployeeStore;
+import com.reliaquest.server.store.OffHeapMockEmployeeStore;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+import net.datafaker.transformations.Field;
+import net.datafaker.transformations.JavaObjectTransformer;
+import net.datafaker.transformations.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Startup cost of building the mock dataset, as a single cold invocation per iteration. {@code generate} covers the
+ * pooled generator alone and {@code generateAndIndex} adds building the heap store, i.e. everything the server does
+ * for {@code mock.employees.max} before it can serve requests; {@code generateAndSort} also reads every sorted index
+ * once, which builds them; {@code generateOffHeap} is the same for {@code mock.employees.store=off-heap}.
+ * {@code datafakerTransformer} is the previous per-record {@link JavaObjectTransformer} approach, kept as the baseline
+ * at sizes where it finishes in reasonable time.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class MockEmployeeGeneratorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Pooled {
+
+        @Param({"10000", "100000", "1000000"})
+        int size;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Baseline {
+
+        @Param({"10000", "100000"})
+        int size;
+    }
+
+    @Benchmark
+    public List<MockEmployee> generate(Pooled state) {
+        return generator().generate(state.size);
+    }
+
+    @Benchmark
+    public MockEmployeeStore generateAndIndex(Pooled state) {
+        return new HeapMockEmployeeStore(generator().generate(state.size));
+    }
+
+    @Benchmark
+    public MockEmployeeStore generateAndSort(Pooled state) {
+        final var store = new HeapMockEmployeeStore(generator().generate(state.size));
+        for (final var sort : MockEmployeeSort.values()) {
+            store.top(sort, 1);
+        }
+        return store;
+    }
+
+    @Benchmark
+    public MockEmployeeStore generateOffHeap(Pooled state) {
+        return new OffHeapMockEmployeeStore(generator(), state.size);
+    }
+
+    @Benchmark
+    public List<MockEmployee> datafakerTransformer(Baseline state) {
+        final var faker = new Faker(Locale.getDefault(), new Random(42));
+        final var transformer = new JavaObjectTransformer();
+        final var schema = Schema.of(
+                Field.field("id", UUID::randomUUID),
+                Field.field("name", () -> faker.name().fullName()),
+                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
+                Field.field("age", () -> faker.number().numberBetween(16, 70)),
+                Field.field("title", () -> faker.job().title()),
+                Field.field(
+                        "email",
+                        () -> ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                                faker.twitter().userName().toLowerCase())));
+        return IntStream.rangeClosed(1, state.size)
+                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
+                .collect(Collectors.toList());
+    }
+
+    private static MockEmployeeGenerator generator() {
+        return new MockEmployeeGenerator(new Faker(Locale.getDefault(), new Random(42)), 42, 1024);
+    }
+}
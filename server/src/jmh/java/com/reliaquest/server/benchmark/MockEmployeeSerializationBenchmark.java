@@ -0,0 +1,99 @@
+package com.reliaquest.server.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.store.HeapMockEmployeeStore;
+import com.reliaquest.server.web.MockEmployeeJsonMessageConverter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Cost of writing the full employee listing as JSON: plain Jackson (what the server used before), Jackson with the
+ * Blackbird module, and the cached-fragment converter the server uses now. Run with {@code -PjmhProfilers=gc} to
+ * compare allocation per listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MockEmployeeSerializationBenchmark {
+
+    private static final Type LISTING = ResolvableType.forClassWithGenerics(
+                    Response.class, ResolvableType.forClassWithGenerics(List.class, MockEmployee.class))
+            .getType();
+
+    @Param({"1000", "10000"})
+    int size;
+
+    private Response<List<MockEmployee>> listing;
+    private ObjectMapper jackson;
+    private ObjectMapper blackbird;
+    private MockEmployeeJsonMessageConverter converter;
+    private final HttpOutputMessage discard = new HttpOutputMessage() {
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    };
+
+    @Setup
+    public void setUp() throws IOException {
+        final var employees =
+                new MockEmployeeGenerator(new Faker(Locale.getDefault(), new Random(42)), 42, 1024).generate(size);
+        listing = Response.handledWith(employees);
+        jackson = Jackson2ObjectMapperBuilder.json().build();
+        blackbird = Jackson2ObjectMapperBuilder.json()
+                .modules(new BlackbirdModule())
+                .build();
+        converter = new MockEmployeeJsonMessageConverter(jackson, new HeapMockEmployeeStore(employees));
+    }
+
+    @Benchmark
+    public void jackson() throws IOException {
+        jackson.writeValue(discard.getBody(), listing);
+    }
+
+    @Benchmark
+    public void jacksonBlackbird() throws IOException {
+        blackbird.writeValue(discard.getBody(), listing);
+    }
+
+    @Benchmark
+    public void cachedFragments() throws IOException {
+        converter.write(listing, LISTING, MediaType.APPLICATION_JSON, discard);
+    }
+}
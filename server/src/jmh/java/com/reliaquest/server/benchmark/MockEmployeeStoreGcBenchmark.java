@@ -0,0 +1,88 @@
+package com.reliaquest.server.benchmark;
+
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Page;
+import com.reliaquest.server.store.HeapMockEmployeeStore;
+import com.reliaquest.server.store.MockEmployeeSort;
+import com.reliaquest.server.store.MockEmployeeStore;
+import com.reliaquest.server.store.OffHeapMockEmployeeStore;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * What the collector pays for a large store, heap against {@code mock.employees.store=off-heap}. {@code fullGc} times
+ * one {@code System.gc()} with the store live, which is dominated by marking whatever the store keeps on the heap.
+ * {@code findById} and {@code page} are the common reads; run with {@code -PjmhProfilers=gc} to compare what each
+ * allocates, since the off-heap store builds every employee it returns.
+ */
+@State(Scope.Benchmark)
+@Fork(
+        value = 1,
+        jvmArgsAppend = {"-Xmx3g", "-XX:MaxDirectMemorySize=2g"})
+public class MockEmployeeStoreGcBenchmark {
+
+    @Param({"heap", "off-heap"})
+    String store;
+
+    @Param({"1000000"})
+    int size;
+
+    private MockEmployeeStore employees;
+    private UUID[] ids;
+
+    @Setup
+    public void setUp() {
+        final var generator = new MockEmployeeGenerator(new Faker(Locale.getDefault(), new Random(42)), 42, 1024);
+        employees = "heap".equals(store)
+                ? new HeapMockEmployeeStore(generator.generate(size))
+                : new OffHeapMockEmployeeStore(generator, size);
+        ids = generator.generate(0, 4096).stream().map(MockEmployee::getId).toArray(UUID[]::new);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public void fullGc() {
+        System.gc();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public Optional<MockEmployee> findById() {
+        return employees.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public Page<MockEmployee> page() {
+        final var from = MockEmployeeSort.NAME.cursorOf(employees
+                .findById(ids[ThreadLocalRandom.current().nextInt(ids.length)])
+                .orElseThrow());
+        return employees.page(MockEmployeeSort.NAME, false, from, 50);
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import net.datafaker.Faker;
+
+/*
+ * Builds the startup dataset without going through Datafaker per record. First names, last names, titles and usernames
+ * are sampled once into small pools with a seeded Faker; each record then draws from those pools with its own
+ * SplittableRandom derived from the seed and the record index. Names pair two pools so duplicates stay about as rare as
+ * with per-record generation. Records are independent of each other and of thread scheduling, so generation
+ * runs in parallel and the same seed always produces the same employees.
+ */
+public class MockEmployeeGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final String[] titles;
+    private final String[] emails;
+
+    public MockEmployeeGenerator(@NonNull Faker faker, long seed, int poolSize) {
+        this.seed = seed;
+        this.firstNames = IntStream.range(0, poolSize)
+                .mapToObj(ignored -> faker.name().firstName())
+                .toArray(String[]::new);
+        this.lastNames = IntStream.range(0, poolSize)
+                .mapToObj(ignored -> faker.name().lastName())
+                .toArray(String[]::new);
+        this.titles = IntStream.range(0, poolSize)
+                .mapToObj(ignored -> faker.job().title())
+                .toArray(String[]::new);
+        this.emails = IntStream.range(0, poolSize)
+                .mapToObj(ignored -> ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()))
+                .toArray(String[]::new);
+    }
+
+    public List<MockEmployee> generate(int count) {
+        return generate(0, count);
+    }
+
+    /*
+     * Records from (inclusive) to to (exclusive). Chunks generated separately concatenate to the same dataset as one
+     * generate(count) call.
+     */
+    public List<MockEmployee> generate(int from, int to) {
+        final var employees = new MockEmployee[to - from];
+        Arrays.parallelSetAll(employees, index -> employee(from + index));
+        return new ArrayList<>(Arrays.asList(employees));
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    MockEmployee employee(int index) {
+        final var random = new SplittableRandom(seed + index * GOLDEN_GAMMA);
+        return MockEmployee.builder()
+                .id(uuid(random))
+                .name(firstNames[random.nextInt(firstNames.length)] + " " + lastNames[random.nextInt(lastNames.length)])
+                .salary(random.nextInt(30000, 500000))
+                .age(random.nextInt(16, 70))
+                .title(titles[random.nextInt(titles.length)])
+                .email(emails[random.nextInt(emails.length)])
+                .build();
+    }
+
+    /*
+     * Random (version 4, IETF variant) UUID drawn from the record's generator instead of SecureRandom.
+     */
+    private static UUID uuid(SplittableRandom random) {
+        final long msb = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        final long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
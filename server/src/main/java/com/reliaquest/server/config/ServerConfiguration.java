@@ -2,18 +2,17 @@ package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Objects;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -25,35 +24,74 @@ public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    /*
+     * Every source of fake data derives from this seed. Set mock.employees.seed to reproduce a dataset; otherwise a
+     * random seed is chosen and logged.
+     */
+    private final long seed;
+
+    @Value("${mock.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${mock.rate-limit.requests:#{null}}")
+    private Integer rateLimitRequests;
+
+    @Value("${mock.rate-limit.backoff:#{null}}")
+    private Duration rateLimitBackoff;
+
+    public ServerConfiguration(@Value("${mock.employees.seed:#{null}}") Long seed) {
+        this.seed = seed != null ? seed : RandomGenerator.getDefault().nextLong();
+    }
+
     @Bean
     public Faker faker() {
-        return new Faker(Locale.getDefault());
+        return new Faker(Locale.getDefault(), new Random(seed));
+    }
+
+    @Bean
+    public MockEmployeeGenerator mockEmployeeGenerator(@Value("${mock.employees.pool-size:1024}") int poolSize) {
+        return new MockEmployeeGenerator(new Faker(Locale.getDefault(), new Random(seed)), seed, poolSize);
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * This list is modifiable by design for CRUD operations. Only the heap store keeps employees as a list; the
+     * off-heap store generates straight into its own buffers.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    @ConditionalOnProperty(name = "mock.employees.store", havingValue = "heap", matchIfMissing = true)
+    public List<MockEmployee> mockEmployees(
+            MockEmployeeGenerator generator, @Value("${mock.employees.max:20}") int maxEmployees) {
+        final long started = System.nanoTime();
+        final var mockEmployees = generator.generate(maxEmployees);
+        log.info(
+                "Created {} employees in {} ms (mock.employees.seed={})",
+                mockEmployees.size(),
+                (System.nanoTime() - started) / 1_000_000,
+                seed);
+        if (log.isTraceEnabled()) {
+            mockEmployees.forEach(mockEmployee -> log.trace("Created employee: {}", mockEmployee));
+        }
+        return mockEmployees;
     }
 
+    /*
+     * The limit and backoff are drawn from the seed unless set explicitly. mock.rate-limit.enabled=false turns the
+     * limiter off, e.g. for load tests that measure the api rather than its retry backoff.
+     */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (!rateLimitEnabled) {
+            log.info("Request rate limiting disabled");
+            return;
+        }
+        final var seeded = new RandomRequestLimitInterceptor(new SplittableRandom(seed));
+        final var interceptor = new RandomRequestLimitInterceptor(
+                Objects.requireNonNullElse(rateLimitRequests, seeded.getRequestLimit()),
+                Objects.requireNonNullElse(rateLimitBackoff, seeded.getRequestBackoffDuration()));
+        log.info(
+                "Rate limiting after {} requests with {} backoff",
+                interceptor.getRequestLimit(),
+                interceptor.getRequestBackoffDuration());
+        registry.addInterceptor(interceptor);
     }
 }
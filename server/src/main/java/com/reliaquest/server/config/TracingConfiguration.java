@@ -0,0 +1,24 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.tracing.TraceRecorder;
+import com.reliaquest.tracing.TracesEndpoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * Keeps recent traces in memory and serves them on /actuator/traces, the same way as the api.
+ */
+@Configuration
+public class TracingConfiguration {
+
+    @Bean
+    public TraceRecorder traceRecorder(@Value("${mock.tracing.capacity:1000}") int capacity) {
+        return new TraceRecorder(capacity);
+    }
+
+    @Bean
+    public TracesEndpoint tracesEndpoint(TraceRecorder traceRecorder) {
+        return new TracesEndpoint(traceRecorder);
+    }
+}
@@ -3,34 +3,77 @@ package com.reliaquest.server.controller;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Page;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.model.SalaryStats;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.MockEmployeeSort;
+import com.reliaquest.server.web.MockEmployeeEventBroadcaster;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final MockEmployeeService mockEmployeeService;
+    private final MockEmployeeEventBroadcaster eventBroadcaster;
 
     @GetMapping()
     public Response<List<MockEmployee>> getEmployees() {
         return Response.handledWith(mockEmployeeService.getMockEmployees());
     }
 
+    @GetMapping("/page")
+    public Response<Page<MockEmployee>> getEmployeePage(
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @RequestParam(value = "order", defaultValue = "asc") String order,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return Response.handledWith(mockEmployeeService.getPage(
+                MockEmployeeSort.from(sort), "desc".equalsIgnoreCase(order), cursor, limit));
+    }
+
+    @GetMapping("/search")
+    public Response<List<MockEmployee>> searchEmployees(@RequestParam("name") String name) {
+        return Response.handledWith(mockEmployeeService.searchByName(name));
+    }
+
+    @GetMapping("/top")
+    public Response<List<MockEmployee>> getTopEmployees(
+            @RequestParam(value = "by", defaultValue = "salary") String by,
+            @RequestParam(value = "k", defaultValue = "10") int k) {
+        return Response.handledWith(mockEmployeeService.getTop(MockEmployeeSort.from(by), k));
+    }
+
+    @GetMapping("/stats/salary")
+    public Response<SalaryStats> getSalaryStats() {
+        return Response.handledWith(mockEmployeeService.getSalaryStats());
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents() {
+        return eventBroadcaster.subscribe();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
         return mockEmployeeService
@@ -40,12 +83,16 @@ public class MockEmployeeController {
     }
 
     @PostMapping()
-    public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
-        return Response.handledWith(mockEmployeeService.create(input));
+    public Response<MockEmployee> createEmployee(
+            @Valid @RequestBody CreateMockEmployeeInput input,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return Response.handledWith(mockEmployeeService.create(input, idempotencyKey));
     }
 
     @DeleteMapping()
-    public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
-        return Response.handledWith(mockEmployeeService.delete(input));
+    public Response<Boolean> deleteEmployee(
+            @Valid @RequestBody DeleteMockEmployeeInput input,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return Response.handledWith(mockEmployeeService.delete(input, idempotencyKey));
     }
 }
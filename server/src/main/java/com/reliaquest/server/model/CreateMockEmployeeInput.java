@@ -5,11 +5,15 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import java.util.UUID;
 import lombok.Data;
 
 @Data
 public class CreateMockEmployeeInput {
 
+    /* Optional. A client spreading employees over several servers picks the id so it knows which server holds it. */
+    private UUID id;
+
     @NotBlank
     private String name;
 
@@ -1,5 +1,6 @@
 package com.reliaquest.server.model;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import java.util.UUID;
@@ -14,7 +15,10 @@ import lombok.NonNull;
 @JsonNaming(MockEmployee.PrefixNamingStrategy.class)
 public class MockEmployee {
 
+    // Binary formats would otherwise write the UUID as 16 raw bytes instead of its canonical string.
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private UUID id;
+
     private String name;
     private Integer salary;
     private Integer age;
@@ -23,7 +27,7 @@ public class MockEmployee {
 
     public static MockEmployee from(@NonNull String email, @NonNull CreateMockEmployeeInput input) {
         return MockEmployee.builder()
-                .id(UUID.randomUUID())
+                .id(input.getId() != null ? input.getId() : UUID.randomUUID())
                 .email(email)
                 .name(input.getName())
                 .salary(input.getSalary())
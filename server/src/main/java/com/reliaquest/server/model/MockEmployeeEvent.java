@@ -0,0 +1,19 @@
+package com.reliaquest.server.model;
+
+import lombok.NonNull;
+
+public record MockEmployeeEvent(@NonNull Type type, @NonNull MockEmployee employee) {
+
+    public static MockEmployeeEvent created(MockEmployee employee) {
+        return new MockEmployeeEvent(Type.CREATED, employee);
+    }
+
+    public static MockEmployeeEvent deleted(MockEmployee employee) {
+        return new MockEmployeeEvent(Type.DELETED, employee);
+    }
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,8 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/*
+ * One page of a keyset-paginated listing. The next cursor is null once the last page has been returned.
+ */
+public record Page<T>(List<T> items, String nextCursor) {}
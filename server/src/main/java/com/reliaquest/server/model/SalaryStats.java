@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import java.util.Map;
+
+/*
+ * Salary aggregates over all employees. Percentiles use the nearest-rank method and are keyed p50, p75, p90, p95 and
+ * p99; every value except the count is null when there are no employees.
+ */
+public record SalaryStats(int count, Integer min, Integer max, Double average, Map<String, Integer> percentiles) {}
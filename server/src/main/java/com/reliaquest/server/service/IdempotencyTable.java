@@ -0,0 +1,131 @@
+package com.reliaquest.server.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the outcome of requests sent with an {@code Idempotency-Key}, so a client retrying after a timeout or a
+ * crash gets the original result instead of a second create or delete. Lookups are a single hash probe. A key is kept
+ * for {@code mock.idempotency.ttl} and at most {@code mock.idempotency.max-keys} keys are kept; keys expire in the
+ * order they were first seen, so both limits are enforced by trimming the oldest keys as new ones arrive.
+ *
+ * <p>A request arriving while the first one with its key is still running waits for that outcome. A key whose request
+ * failed is forgotten, leaving the client free to retry. The outcome is replayed for the key alone: a later request
+ * with the same key but a different payload gets the first request's result, and its own payload is never looked at.
+ */
+@Slf4j
+@Component
+public class IdempotencyTable {
+
+    private static final int TRIM_BATCH = 8;
+
+    private final Duration ttl;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Slot> arrivals = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock trimming = new ReentrantLock();
+
+    public IdempotencyTable(
+            @Value("${mock.idempotency.ttl:1h}") Duration ttl,
+            @Value("${mock.idempotency.max-keys:100000}") int maxKeys) {
+        this.ttl = ttl;
+        this.maxKeys = maxKeys;
+    }
+
+    /*
+     * Runs the operation the first time the key is seen and returns its result; later calls with the key return that
+     * same result without running their operation, whatever it would have done. Operations of different kinds must
+     * not share keys.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> operation) {
+        final long now = System.nanoTime();
+        Slot slot = slots.get(key);
+        if (slot != null && slot.expired(now)) {
+            slots.remove(key, slot);
+            slot = null;
+        }
+        if (slot == null) {
+            final var fresh = new Slot(key, now + ttl.toNanos());
+            slot = slots.putIfAbsent(key, fresh);
+            if (slot == null) {
+                arrivals.add(fresh);
+                trim(now);
+                return run(fresh, operation);
+            }
+        }
+        log.debug("Replaying request with idempotency key {}", key);
+        try {
+            return (T) slot.outcome.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    private <T> T run(Slot slot, Supplier<T> operation) {
+        try {
+            final T result = operation.get();
+            slot.outcome.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            slots.remove(slot.key, slot);
+            slot.outcome.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /*
+     * Only one thread trims at a time, so the head it peeks at is the one it polls. Others skip rather than wait. Each
+     * pass removes a bounded number of keys, more than the one just added, so a trimming thread is never stuck in an
+     * unbounded run while other threads keep adding. A thread that skipped leaves its key to the one holding the lock,
+     * which checks the size again after unlocking, so once inserts stop the table is back within its limit.
+     */
+    private void trim(long now) {
+        do {
+            if (!trimming.tryLock()) {
+                return;
+            }
+            try {
+                Slot oldest;
+                for (int removed = 0;
+                        removed < TRIM_BATCH
+                                && (oldest = arrivals.peek()) != null
+                                && (oldest.expired(now) || slots.size() > maxKeys);
+                        removed++) {
+                    arrivals.poll();
+                    slots.remove(oldest.key, oldest);
+                }
+            } finally {
+                trimming.unlock();
+            }
+        } while (slots.size() > maxKeys && !arrivals.isEmpty());
+    }
+
+    private static final class Slot {
+
+        private final String key;
+        private final long expiresAt;
+        private final CompletableFuture<Object> outcome = new CompletableFuture<>();
+
+        Slot(String key, long expiresAt) {
+            this.key = key;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean expired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
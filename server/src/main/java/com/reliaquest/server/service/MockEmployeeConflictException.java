@@ -0,0 +1,11 @@
+package com.reliaquest.server.service;
+
+/*
+ * A write that clashes with an employee already stored, answered with 409 Conflict.
+ */
+public class MockEmployeeConflictException extends RuntimeException {
+
+    public MockEmployeeConflictException(String message) {
+        super(message);
+    }
+}
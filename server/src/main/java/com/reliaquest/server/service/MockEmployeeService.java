@@ -4,55 +4,125 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeEvent;
+import com.reliaquest.server.model.Page;
+import com.reliaquest.server.model.SalaryStats;
+import com.reliaquest.server.store.MockEmployeeSort;
+import com.reliaquest.server.store.MockEmployeeStore;
+import io.micrometer.observation.annotation.Observed;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
+@Observed(name = "mock.employee.service")
 @RequiredArgsConstructor
 public class MockEmployeeService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final Faker faker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MockEmployeeStore mockEmployeeStore;
+    private final IdempotencyTable idempotencyTable;
+
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.getAll();
+    }
+
+    public Page<MockEmployee> getPage(@NonNull MockEmployeeSort sort, boolean descending, String cursor, int limit) {
+        checkLimit(limit);
+        return mockEmployeeStore.page(sort, descending, cursor, limit);
+    }
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    public List<MockEmployee> searchByName(@NonNull String fragment) {
+        return mockEmployeeStore.searchByName(fragment);
+    }
+
+    public List<MockEmployee> getTop(@NonNull MockEmployeeSort sort, int k) {
+        checkLimit(k);
+        return mockEmployeeStore.top(sort, k);
+    }
+
+    public SalaryStats getSalaryStats() {
+        return mockEmployeeStore.salaryStats();
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
     }
 
+    /*
+     * A client that picks the id may send the same create again after its idempotency key expired, e.g. when replaying
+     * a journal. A repeat of the stored employee's name, salary, age and title returns that employee; any other create
+     * with a taken id is a conflict.
+     */
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
         final var mockEmployee = MockEmployee.from(
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
-        log.debug("Added employee: {}", mockEmployee);
+        final var stored = mockEmployeeStore.addIfAbsent(mockEmployee);
+        if (stored != mockEmployee) {
+            if (!sameInput(stored, input)) {
+                throw new MockEmployeeConflictException("Employee " + stored.getId() + " already exists");
+            }
+            log.debug("Employee {} already exists, returning it", stored.getId());
+            return stored;
+        }
+        log.debug("Added employee {}", mockEmployee.getId());
+        eventPublisher.publishEvent(MockEmployeeEvent.created(mockEmployee));
         return mockEmployee;
     }
 
+    /*
+     * Creates the employee once per idempotency key; a repeat returns the employee created the first time.
+     */
+    public MockEmployee create(@NonNull CreateMockEmployeeInput input, String idempotencyKey) {
+        return idempotencyKey == null
+                ? create(input)
+                : idempotencyTable.execute("create:" + idempotencyKey, () -> create(input));
+    }
+
+    /*
+     * Deletes go by name, so a blind repeat would remove the next employee with that name; with a key the repeat
+     * returns the first outcome instead.
+     */
+    public boolean delete(@NonNull DeleteMockEmployeeInput input, String idempotencyKey) {
+        return idempotencyKey == null
+                ? delete(input)
+                : idempotencyTable.execute("delete:" + idempotencyKey, () -> delete(input));
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
+        final var mockEmployee = mockEmployeeStore.removeFirstByName(input.getName());
         if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
+            log.debug("Removed employee {}", mockEmployee.get().getId());
+            eventPublisher.publishEvent(MockEmployeeEvent.deleted(mockEmployee.get()));
             return true;
         }
 
         return false;
     }
+
+    private static boolean sameInput(MockEmployee employee, CreateMockEmployeeInput input) {
+        return Objects.equals(employee.getName(), input.getName())
+                && Objects.equals(employee.getSalary(), input.getSalary())
+                && Objects.equals(employee.getAge(), input.getAge())
+                && Objects.equals(employee.getTitle(), input.getTitle());
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
 }
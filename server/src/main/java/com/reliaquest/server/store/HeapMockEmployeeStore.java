@@ -0,0 +1,244 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Page;
+import com.reliaquest.server.model.SalaryStats;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/*
+ * The default store: owns the mock employee list together with the indexes used to serve lookups and pages without
+ * scanning it. The list keeps insertion order for the full listing; the id map and one sorted index per
+ * MockEmployeeSort are kept in step with it on every write. Only the id map is built at startup: each sorted index is
+ * built the first time it is read, so a large dataset does not hold up startup with sorts that may never be needed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mock.employees.store", havingValue = "heap", matchIfMissing = true)
+public class HeapMockEmployeeStore implements MockEmployeeStore {
+
+    static final int[] PERCENTILES = {50, 75, 90, 95, 99};
+
+    private final List<MockEmployee> employees;
+    private final Map<UUID, MockEmployee> byId = new ConcurrentHashMap<>();
+    private final Map<MockEmployeeSort, ConcurrentSkipListMap<MockEmployee, Boolean>> sorted =
+            new ConcurrentHashMap<>();
+    private final Map<UUID, byte[]> serialized = new ConcurrentHashMap<>();
+
+    private long salarySum;
+    private volatile long version;
+    private volatile SortedSalaries sortedSalaries;
+
+    public HeapMockEmployeeStore(List<MockEmployee> mockEmployees) {
+        this.employees = mockEmployees;
+        mockEmployees.stream()
+                .filter(employee -> Objects.nonNull(employee.getId()))
+                .forEach(employee -> byId.put(employee.getId(), employee));
+        salarySum = byId.values().stream()
+                .mapToLong(HeapMockEmployeeStore::salaryOf)
+                .sum();
+    }
+
+    @Override
+    public List<MockEmployee> getAll() {
+        return employees;
+    }
+
+    @Override
+    public int size() {
+        return byId.size();
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        return Optional.ofNullable(byId.get(uuid));
+    }
+
+    @Override
+    public synchronized MockEmployee addIfAbsent(@NonNull MockEmployee employee) {
+        final var existing = byId.get(employee.getId());
+        if (existing != null) {
+            return existing;
+        }
+        employees.add(employee);
+        index(employee);
+        return employee;
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        final var match = employees.stream()
+                .filter(employee -> Objects.nonNull(employee.getName())
+                        && employee.getName().equalsIgnoreCase(name))
+                .findFirst();
+        match.ifPresent(employee -> {
+            employees.remove(employee);
+            if (Objects.nonNull(employee.getId()) && byId.remove(employee.getId(), employee)) {
+                serialized.remove(employee.getId());
+                sorted.values().forEach(index -> index.remove(employee));
+                salarySum -= salaryOf(employee);
+                version++;
+            }
+        });
+        return match;
+    }
+
+    /*
+     * Serialized form of an employee, computed once and reused until the employee is removed. Employees are replaced
+     * rather than modified in place, so an entry is valid for as long as that exact employee is in the store; anything
+     * else is serialized without caching.
+     */
+    @Override
+    public byte[] serialized(@NonNull MockEmployee employee, @NonNull Function<MockEmployee, byte[]> serializer) {
+        if (Objects.isNull(employee.getId()) || byId.get(employee.getId()) != employee) {
+            return serializer.apply(employee);
+        }
+        final byte[] cached = serialized.get(employee.getId());
+        return cached != null
+                ? cached
+                : serialized.computeIfAbsent(employee.getId(), ignored -> serializer.apply(employee));
+    }
+
+    /*
+     * Keyset pagination: walks the sorted index from just after the cursor, so each page costs O(log n + limit)
+     * regardless of how deep into the listing it is.
+     */
+    @Override
+    public Page<MockEmployee> page(@NonNull MockEmployeeSort sort, boolean descending, String cursor, int limit) {
+        NavigableSet<MockEmployee> index = sortedBy(sort).navigableKeySet();
+        if (cursor != null) {
+            final var probe = sort.probeOf(cursor);
+            index = descending ? index.headSet(probe, false) : index.tailSet(probe, false);
+        }
+        if (descending) {
+            index = index.descendingSet();
+        }
+
+        final var items = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        final var iterator = index.iterator();
+        while (iterator.hasNext() && items.size() < limit) {
+            items.add(iterator.next());
+        }
+        final var nextCursor =
+                iterator.hasNext() && !items.isEmpty() ? sort.cursorOf(items.get(items.size() - 1)) : null;
+        return new Page<>(items, nextCursor);
+    }
+
+    /*
+     * Highest k employees for the given ordering, read straight off the tail of its index in O(log n + k).
+     */
+    @Override
+    public List<MockEmployee> top(@NonNull MockEmployeeSort sort, int k) {
+        return page(sort, true, null, k).items();
+    }
+
+    /*
+     * Case-sensitive substring match on name, walking the name index so results come back in name order.
+     */
+    @Override
+    public List<MockEmployee> searchByName(@NonNull String fragment) {
+        return sortedBy(MockEmployeeSort.NAME).keySet().stream()
+                .filter(employee -> Objects.nonNull(employee.getName())
+                        && employee.getName().contains(fragment))
+                .toList();
+    }
+
+    /*
+     * Min and max come from the ends of the salary index and the average from a running sum. Percentiles need ranks,
+     * so the salaries are copied out of the (already sorted) index once and reused until the next write.
+     */
+    @Override
+    public SalaryStats salaryStats() {
+        final int[] salaries = sortedSalaries();
+        final int count = salaries.length;
+        if (count == 0) {
+            return new SalaryStats(0, null, null, null, null);
+        }
+        final double average;
+        synchronized (this) {
+            average = (double) salarySum / byId.size();
+        }
+        final var percentiles = new LinkedHashMap<String, Integer>();
+        for (final int percentile : PERCENTILES) {
+            final int rank = (int) Math.ceil(percentile / 100.0 * count);
+            percentiles.put("p" + percentile, salaries[Math.max(rank, 1) - 1]);
+        }
+        return new SalaryStats(count, salaries[0], salaries[count - 1], average, percentiles);
+    }
+
+    private int[] sortedSalaries() {
+        final long current = version;
+        var cached = sortedSalaries;
+        if (cached == null || cached.version() != current) {
+            cached = new SortedSalaries(
+                    current,
+                    sortedBy(MockEmployeeSort.SALARY).keySet().stream()
+                            .map(MockEmployee::getSalary)
+                            .filter(Objects::nonNull)
+                            .mapToInt(Integer::intValue)
+                            .toArray());
+            sortedSalaries = cached;
+        }
+        return cached.salaries();
+    }
+
+    private ConcurrentSkipListMap<MockEmployee, Boolean> sortedBy(MockEmployeeSort sort) {
+        final var index = sorted.get(sort);
+        return index != null ? index : buildIndex(sort);
+    }
+
+    /*
+     * Sorts the employees once, in parallel, then inserts them in that order: each insert lands just after the previous
+     * one, so the skip list's search path is already in cache, unlike inserts in list order. Holds the store's lock so
+     * no write lands mid-build.
+     */
+    private synchronized ConcurrentSkipListMap<MockEmployee, Boolean> buildIndex(MockEmployeeSort sort) {
+        return sorted.computeIfAbsent(sort, ignored -> {
+            final long started = System.nanoTime();
+            // from the list rather than the id map: list order follows allocation order, which the sort reads far
+            // faster
+            final var ordered = employees.stream()
+                    .filter(employee -> Objects.nonNull(employee.getId()))
+                    .toArray(MockEmployee[]::new);
+            Arrays.parallelSort(ordered, sort.comparator());
+            final var index = new ConcurrentSkipListMap<MockEmployee, Boolean>(sort.comparator());
+            for (final var employee : ordered) {
+                index.put(employee, Boolean.TRUE);
+            }
+            log.info(
+                    "Indexed {} employees by {} in {} ms",
+                    ordered.length,
+                    sort,
+                    (System.nanoTime() - started) / 1_000_000);
+            return index;
+        });
+    }
+
+    private void index(MockEmployee employee) {
+        serialized.remove(employee.getId());
+        byId.put(employee.getId(), employee);
+        sorted.values().forEach(index -> index.put(employee, Boolean.TRUE));
+        salarySum += salaryOf(employee);
+        version++;
+    }
+
+    private static int salaryOf(MockEmployee employee) {
+        return Objects.isNull(employee.getSalary()) ? 0 : employee.getSalary();
+    }
+
+    private record SortedSalaries(long version, int[] salaries) {}
+}
@@ -0,0 +1,75 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.UUID;
+import lombok.NonNull;
+
+/*
+ * Orderings supported by keyset pagination. Every ordering ends with the id, so it is total and a cursor made of the
+ * sort value plus the id stays stable while employees are created and deleted between pages.
+ */
+public enum MockEmployeeSort {
+    ID(Comparator.comparing(MockEmployee::getId)),
+    NAME(Comparator.comparing(MockEmployee::getName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(MockEmployee::getId)),
+    SALARY(Comparator.comparing(MockEmployee::getSalary, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(MockEmployee::getId));
+
+    private static final char SEPARATOR = '\n';
+
+    private final Comparator<MockEmployee> comparator;
+
+    MockEmployeeSort(Comparator<MockEmployee> comparator) {
+        this.comparator = comparator;
+    }
+
+    public Comparator<MockEmployee> comparator() {
+        return comparator;
+    }
+
+    public static MockEmployeeSort from(@NonNull String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported sort: " + value);
+        }
+    }
+
+    public String cursorOf(@NonNull MockEmployee employee) {
+        final var key =
+                switch (this) {
+                    case ID -> "";
+                    case NAME -> employee.getName() == null ? "" : employee.getName();
+                    case SALARY -> employee.getSalary() == null
+                            ? ""
+                            : employee.getSalary().toString();
+                };
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((key + SEPARATOR + employee.getId()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+     * Rebuilds a probe employee carrying just the fields this ordering compares, positioned exactly at the cursor.
+     */
+    public MockEmployee probeOf(@NonNull String cursor) {
+        try {
+            final var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final var separator = decoded.lastIndexOf(SEPARATOR);
+            final var key = decoded.substring(0, separator);
+            final var probe = MockEmployee.builder().id(UUID.fromString(decoded.substring(separator + 1)));
+            switch (this) {
+                case NAME -> probe.name(key.isEmpty() ? null : key);
+                case SALARY -> probe.salary(key.isEmpty() ? null : Integer.valueOf(key));
+                default -> {}
+            }
+            return probe.build();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Page;
+import com.reliaquest.server.model.SalaryStats;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.NonNull;
+
+/*
+ * Storage behind MockEmployeeService. mock.employees.store selects the implementation: "heap" (the default) keeps
+ * MockEmployee objects and object indexes, "off-heap" keeps fixed-layout records in direct memory for datasets large
+ * enough that the heap version's object graph dominates GC. Both return the same results in the same order.
+ */
+public interface MockEmployeeStore {
+
+    /* Every employee in insertion order. */
+    List<MockEmployee> getAll();
+
+    int size();
+
+    Optional<MockEmployee> findById(@NonNull UUID uuid);
+
+    /* Adds the employee unless its id is taken. Returns the employee stored under the id, the given one if added. */
+    MockEmployee addIfAbsent(@NonNull MockEmployee employee);
+
+    /* Removes the earliest added employee whose name matches ignoring case. */
+    Optional<MockEmployee> removeFirstByName(@NonNull String name);
+
+    /* Serialized form of an employee read from this store, possibly cached until the employee is removed. */
+    byte[] serialized(@NonNull MockEmployee employee, @NonNull Function<MockEmployee, byte[]> serializer);
+
+    /* Keyset pagination in the given ordering, starting just after the cursor when one is given. */
+    Page<MockEmployee> page(@NonNull MockEmployeeSort sort, boolean descending, String cursor, int limit);
+
+    /* Highest k employees for the given ordering. */
+    List<MockEmployee> top(@NonNull MockEmployeeSort sort, int k);
+
+    /* Case-sensitive substring match on name, in name order. */
+    List<MockEmployee> searchByName(@NonNull String fragment);
+
+    SalaryStats salaryStats();
+}
@@ -0,0 +1,508 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Page;
+import com.reliaquest.server.model.SalaryStats;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/*
+ * Store for multi-million employee load tests. Each employee is a fixed 56-byte record in a direct ByteBuffer; names,
+ * titles and emails are UTF-8 bytes in a second direct buffer that records point into. Ids map to record slots through
+ * a primitive open-addressing table, and each ordering, plus insertion order, is an int array of slots kept sorted.
+ * The collector therefore sees a handful of large arrays rather than one object graph per employee, and MockEmployee
+ * objects only exist for as long as a request uses them.
+ *
+ * Slots freed by deletes are reused by later creates. String bytes of deleted employees are not reclaimed, which is fine
+ * for a load test but means the string buffer only grows. Writes shift the sorted slot arrays, O(n) memory moves that
+ * are cheap next to a request at a few million employees. Reads share a read lock; writes take the write lock.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mock.employees.store", havingValue = "off-heap")
+public class OffHeapMockEmployeeStore implements MockEmployeeStore {
+
+    private static final int ID_MSB = 0;
+    private static final int ID_LSB = 8;
+    private static final int SEQUENCE = 16;
+    private static final int SALARY = 24;
+    private static final int AGE = 28;
+    /* Each string field is an int offset into the string buffer followed by an int length. */
+    private static final int NAME = 32;
+    private static final int TITLE = 40;
+    private static final int EMAIL = 48;
+    static final int RECORD_SIZE = 56;
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final int NULL_STRING = -1;
+    private static final int LOAD_CHUNK = 65_536;
+    private static final UUID LOWEST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final UuidSlotIndex byId;
+    private final SlotList arrivals = new SlotList();
+    private final Map<MockEmployeeSort, SlotList> sorted = new EnumMap<>(MockEmployeeSort.class);
+
+    private ByteBuffer records;
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private ByteBuffer strings;
+    private int stringsEnd;
+    private long nextSequence;
+    private long salarySum;
+
+    /*
+     * Generates the dataset a chunk at a time straight into direct memory, so the full list never exists on the heap.
+     */
+    public OffHeapMockEmployeeStore(
+            MockEmployeeGenerator generator, @Value("${mock.employees.max:20}") int maxEmployees) {
+        final long started = System.nanoTime();
+        this.byId = new UuidSlotIndex(maxEmployees);
+        this.records = ByteBuffer.allocateDirect(Math.max(maxEmployees, 16) * RECORD_SIZE);
+        this.strings = ByteBuffer.allocateDirect(Math.max(maxEmployees, 16) * 96);
+        for (int from = 0; from < maxEmployees; from += LOAD_CHUNK) {
+            generator.generate(from, Math.min(from + LOAD_CHUNK, maxEmployees)).forEach(this::append);
+        }
+        for (final var sort : MockEmployeeSort.values()) {
+            sorted.put(sort, SlotList.of(sortedSlots(sort)));
+        }
+        log.info(
+                "Created {} employees off-heap in {} ms (mock.employees.seed={}, {} MB records, {} MB strings)",
+                byId.size(),
+                (System.nanoTime() - started) / 1_000_000,
+                generator.seed(),
+                records.capacity() >> 20,
+                strings.capacity() >> 20);
+    }
+
+    @Override
+    public List<MockEmployee> getAll() {
+        lock.readLock().lock();
+        try {
+            final var employees = new ArrayList<MockEmployee>(arrivals.size());
+            for (int i = 0; i < arrivals.size(); i++) {
+                employees.add(read(arrivals.get(i)));
+            }
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        lock.readLock().lock();
+        try {
+            final int slot = byId.get(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            return slot < 0 ? Optional.empty() : Optional.of(read(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public MockEmployee addIfAbsent(@NonNull MockEmployee employee) {
+        lock.writeLock().lock();
+        try {
+            final var id = employee.getId();
+            final int existing = byId.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (existing >= 0) {
+                return read(existing);
+            }
+            final int slot = append(employee);
+            sorted.forEach((sort, index) -> index.insert(lowerBound(sort, index, keyOf(sort, slot)), slot));
+            return employee;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Candidates come from the name index, where equal names sit together; among them the lowest sequence number is
+     * the earliest added.
+     */
+    @Override
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        lock.writeLock().lock();
+        try {
+            final var index = sorted.get(MockEmployeeSort.NAME);
+            final var probe = MockEmployee.builder().id(LOWEST_ID).name(name).build();
+            int first = -1;
+            for (int i = lowerBound(MockEmployeeSort.NAME, index, probe); i < index.size(); i++) {
+                final int slot = index.get(i);
+                final String candidate = string(slot, NAME);
+                if (candidate == null || !candidate.equalsIgnoreCase(name)) {
+                    break;
+                }
+                if (first < 0 || sequence(slot) < sequence(first)) {
+                    first = slot;
+                }
+            }
+            if (first < 0) {
+                return Optional.empty();
+            }
+            final var removed = read(first);
+            remove(first);
+            return Optional.of(removed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Employees read from here are fresh objects every time, so there is nothing to key a cache on the heap by; caching
+     * fragments would also put back the per-employee heap objects this store exists to avoid.
+     */
+    @Override
+    public byte[] serialized(@NonNull MockEmployee employee, @NonNull Function<MockEmployee, byte[]> serializer) {
+        return serializer.apply(employee);
+    }
+
+    /*
+     * Binary search to the cursor in the slot array for the ordering, then a walk of at most limit slots.
+     */
+    @Override
+    public Page<MockEmployee> page(@NonNull MockEmployeeSort sort, boolean descending, String cursor, int limit) {
+        final var probe = cursor == null ? null : sort.probeOf(cursor);
+        lock.readLock().lock();
+        try {
+            final var index = sorted.get(sort);
+            final var items = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+            final boolean more;
+            if (descending) {
+                int i = probe == null ? index.size() - 1 : lowerBound(sort, index, probe) - 1;
+                for (; i >= 0 && items.size() < limit; i--) {
+                    items.add(read(index.get(i)));
+                }
+                more = i >= 0;
+            } else {
+                int i = probe == null ? 0 : upperBound(sort, index, probe);
+                for (; i < index.size() && items.size() < limit; i++) {
+                    items.add(read(index.get(i)));
+                }
+                more = i < index.size();
+            }
+            final var nextCursor = more && !items.isEmpty() ? sort.cursorOf(items.get(items.size() - 1)) : null;
+            return new Page<>(items, nextCursor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<MockEmployee> top(@NonNull MockEmployeeSort sort, int k) {
+        return page(sort, true, null, k).items();
+    }
+
+    @Override
+    public List<MockEmployee> searchByName(@NonNull String fragment) {
+        lock.readLock().lock();
+        try {
+            final var index = sorted.get(MockEmployeeSort.NAME);
+            final var matches = new ArrayList<MockEmployee>();
+            for (int i = 0; i < index.size(); i++) {
+                final int slot = index.get(i);
+                final String name = string(slot, NAME);
+                if (name != null && name.contains(fragment)) {
+                    matches.add(read(slot));
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Salaries are read by rank straight off the salary ordering, where employees without one sort first.
+     */
+    @Override
+    public SalaryStats salaryStats() {
+        lock.readLock().lock();
+        try {
+            final var index = sorted.get(MockEmployeeSort.SALARY);
+            int unpaid = 0;
+            while (unpaid < index.size() && salary(index.get(unpaid)) == NULL_INT) {
+                unpaid++;
+            }
+            final int count = index.size() - unpaid;
+            if (count == 0) {
+                return new SalaryStats(0, null, null, null, null);
+            }
+            final var percentiles = new LinkedHashMap<String, Integer>();
+            for (final int percentile : HeapMockEmployeeStore.PERCENTILES) {
+                final int rank = (int) Math.ceil(percentile / 100.0 * count);
+                percentiles.put("p" + percentile, salary(index.get(unpaid + Math.max(rank, 1) - 1)));
+            }
+            return new SalaryStats(
+                    count,
+                    salary(index.get(unpaid)),
+                    salary(index.get(index.size() - 1)),
+                    (double) salarySum / byId.size(),
+                    percentiles);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Writes the record and indexes it by id and arrival; the orderings are left to the caller.
+     */
+    private int append(MockEmployee employee) {
+        final int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            records = ensureCapacity(records, (slotCount + 1L) * RECORD_SIZE, slotCount * RECORD_SIZE);
+            slot = slotCount++;
+        }
+        final int base = slot * RECORD_SIZE;
+        records.putLong(base + ID_MSB, employee.getId().getMostSignificantBits());
+        records.putLong(base + ID_LSB, employee.getId().getLeastSignificantBits());
+        records.putLong(base + SEQUENCE, nextSequence++);
+        records.putInt(base + SALARY, Objects.requireNonNullElse(employee.getSalary(), NULL_INT));
+        records.putInt(base + AGE, Objects.requireNonNullElse(employee.getAge(), NULL_INT));
+        putString(base + NAME, employee.getName());
+        putString(base + TITLE, employee.getTitle());
+        putString(base + EMAIL, employee.getEmail());
+        byId.put(employee.getId().getMostSignificantBits(), employee.getId().getLeastSignificantBits(), slot);
+        arrivals.insert(arrivals.size(), slot);
+        salarySum += Objects.requireNonNullElse(employee.getSalary(), 0);
+        return slot;
+    }
+
+    private void remove(int slot) {
+        sorted.forEach((sort, index) -> {
+            final int position = lowerBound(sort, index, keyOf(sort, slot));
+            index.remove(position);
+        });
+        arrivals.remove(arrivalPosition(sequence(slot)));
+        final int base = slot * RECORD_SIZE;
+        byId.remove(records.getLong(base + ID_MSB), records.getLong(base + ID_LSB));
+        final int salary = salary(slot);
+        salarySum -= salary == NULL_INT ? 0 : salary;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private MockEmployee read(int slot) {
+        final int base = slot * RECORD_SIZE;
+        return new MockEmployee(
+                new UUID(records.getLong(base + ID_MSB), records.getLong(base + ID_LSB)),
+                string(slot, NAME),
+                integer(records.getInt(base + SALARY)),
+                integer(records.getInt(base + AGE)),
+                string(slot, TITLE),
+                string(slot, EMAIL));
+    }
+
+    /*
+     * Just the fields the ordering compares, which is all a binary search step needs.
+     */
+    private MockEmployee keyOf(MockEmployeeSort sort, int slot) {
+        final int base = slot * RECORD_SIZE;
+        final var key =
+                MockEmployee.builder().id(new UUID(records.getLong(base + ID_MSB), records.getLong(base + ID_LSB)));
+        switch (sort) {
+            case NAME -> key.name(string(slot, NAME));
+            case SALARY -> key.salary(integer(salary(slot)));
+            default -> {}
+        }
+        return key.build();
+    }
+
+    /* First position whose employee is not less than the probe. */
+    private int lowerBound(MockEmployeeSort sort, SlotList index, MockEmployee probe) {
+        final Comparator<MockEmployee> comparator = sort.comparator();
+        int low = 0;
+        int high = index.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (comparator.compare(keyOf(sort, index.get(middle)), probe) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /* First position whose employee is greater than the probe. */
+    private int upperBound(MockEmployeeSort sort, SlotList index, MockEmployee probe) {
+        final Comparator<MockEmployee> comparator = sort.comparator();
+        int low = 0;
+        int high = index.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (comparator.compare(keyOf(sort, index.get(middle)), probe) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /* Arrivals are in sequence order, so a slot is found by its sequence number. */
+    private int arrivalPosition(long sequence) {
+        int low = 0;
+        int high = arrivals.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (sequence(arrivals.get(middle)) < sequence) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /*
+     * Sorts every slot for the ordering at load time. Keys are read once up front rather than on every comparison.
+     */
+    private int[] sortedSlots(MockEmployeeSort sort) {
+        final var keys = new MockEmployee[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            keys[slot] = keyOf(sort, slot);
+        }
+        final Comparator<MockEmployee> comparator = sort.comparator();
+        return Arrays.stream(arrivals.toArray())
+                .boxed()
+                .sorted((left, right) -> comparator.compare(keys[left], keys[right]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private long sequence(int slot) {
+        return records.getLong(slot * RECORD_SIZE + SEQUENCE);
+    }
+
+    private int salary(int slot) {
+        return records.getInt(slot * RECORD_SIZE + SALARY);
+    }
+
+    private String string(int slot, int field) {
+        final int at = slot * RECORD_SIZE + field;
+        final int offset = records.getInt(at);
+        if (offset == NULL_STRING) {
+            return null;
+        }
+        final byte[] bytes = new byte[records.getInt(at + 4)];
+        strings.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void putString(int at, String value) {
+        if (value == null) {
+            records.putInt(at, NULL_STRING);
+            records.putInt(at + 4, 0);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        strings = ensureCapacity(strings, stringsEnd + bytes.length, stringsEnd);
+        strings.put(stringsEnd, bytes);
+        records.putInt(at, stringsEnd);
+        records.putInt(at + 4, bytes.length);
+        stringsEnd += bytes.length;
+    }
+
+    private static Integer integer(int value) {
+        return value == NULL_INT ? null : value;
+    }
+
+    /*
+     * Doubles the buffer when the write would overflow it. The old buffer is released once the collector clears it.
+     */
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, long needed, int used) {
+        if (needed <= buffer.capacity()) {
+            return buffer;
+        }
+        if (needed > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Off-heap store is full at " + buffer.capacity() + " bytes");
+        }
+        final int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(needed, 2L * buffer.capacity()));
+        final var grown = ByteBuffer.allocateDirect(capacity);
+        grown.put(0, buffer, 0, used);
+        return grown;
+    }
+
+    /*
+     * Growable int array of slots.
+     */
+    private static final class SlotList {
+
+        private int[] slots;
+        private int size;
+
+        SlotList() {
+            this.slots = new int[16];
+        }
+
+        private SlotList(int[] slots) {
+            this.slots = slots.length == 0 ? new int[16] : slots;
+            this.size = slots.length;
+        }
+
+        static SlotList of(int[] slots) {
+            return new SlotList(slots);
+        }
+
+        int size() {
+            return size;
+        }
+
+        int get(int position) {
+            return slots[position];
+        }
+
+        void insert(int position, int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, position, slots, position + 1, size - position);
+            slots[position] = slot;
+            size++;
+        }
+
+        void remove(int position) {
+            System.arraycopy(slots, position + 1, slots, position, size - position - 1);
+            size--;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(slots, size);
+        }
+    }
+}
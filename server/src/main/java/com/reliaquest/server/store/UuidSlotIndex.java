@@ -0,0 +1,112 @@
+package com.reliaquest.server.store;
+
+/*
+ * Map from UUID to record slot held in three parallel primitive arrays, so a million entries are three arrays for the
+ * collector instead of a million entry, key and value objects. Open addressing with linear probing at no more than
+ * half full; removal shifts the following entries back instead of leaving tombstones, so lookups never slow down as
+ * employees come and go. Not thread-safe.
+ */
+final class UuidSlotIndex {
+
+    private static final int EMPTY = 0;
+
+    private long[] msbs;
+    private long[] lsbs;
+    /* Slot plus one, so the zeroed array means empty. */
+    private int[] slots;
+    private int mask;
+    private int size;
+
+    UuidSlotIndex(int expected) {
+        allocate(Integer.highestOneBit(Math.max(16, expected) * 2 - 1) << 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /* The slot stored for the id, or -1. */
+    int get(long msb, long lsb) {
+        for (int i = home(msb, lsb); slots[i] != EMPTY; i = (i + 1) & mask) {
+            if (msbs[i] == msb && lsbs[i] == lsb) {
+                return slots[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    void put(long msb, long lsb, int slot) {
+        if ((size + 1) * 2 > slots.length) {
+            resize();
+        }
+        int i = home(msb, lsb);
+        while (slots[i] != EMPTY) {
+            if (msbs[i] == msb && lsbs[i] == lsb) {
+                slots[i] = slot + 1;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        msbs[i] = msb;
+        lsbs[i] = lsb;
+        slots[i] = slot + 1;
+        size++;
+    }
+
+    boolean remove(long msb, long lsb) {
+        int hole = home(msb, lsb);
+        while (slots[hole] != EMPTY && (msbs[hole] != msb || lsbs[hole] != lsb)) {
+            hole = (hole + 1) & mask;
+        }
+        if (slots[hole] == EMPTY) {
+            return false;
+        }
+        // Pull back every later entry of the probe run that would no longer be reachable across the hole.
+        for (int j = (hole + 1) & mask; slots[j] != EMPTY; j = (j + 1) & mask) {
+            final int home = home(msbs[j], lsbs[j]);
+            final boolean reachable = hole <= j ? home > hole && home <= j : home > hole || home <= j;
+            if (!reachable) {
+                msbs[hole] = msbs[j];
+                lsbs[hole] = lsbs[j];
+                slots[hole] = slots[j];
+                hole = j;
+            }
+        }
+        slots[hole] = EMPTY;
+        size--;
+        return true;
+    }
+
+    private int home(long msb, long lsb) {
+        long hash = msb ^ lsb;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+
+    private void resize() {
+        final long[] oldMsbs = msbs;
+        final long[] oldLsbs = lsbs;
+        final int[] oldSlots = slots;
+        allocate(oldSlots.length * 2);
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != EMPTY) {
+                int j = home(oldMsbs[i], oldLsbs[i]);
+                while (slots[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+                msbs[j] = oldMsbs[i];
+                lsbs[j] = oldLsbs[i];
+                slots[j] = oldSlots[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        msbs = new long[capacity];
+        lsbs = new long[capacity];
+        slots = new int[capacity];
+        mask = capacity - 1;
+    }
+}
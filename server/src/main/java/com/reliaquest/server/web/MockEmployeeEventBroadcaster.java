@@ -0,0 +1,76 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.model.MockEmployeeEvent;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/*
+ * Fans out employee change events to every connected Server-Sent Events subscriber. Events are sent from a single
+ * dispatcher thread so slow subscribers never hold up the request that mutated the employee list.
+ */
+@Slf4j
+@Component
+public class MockEmployeeEventBroadcaster {
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        final var thread = new Thread(runnable, "employee-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SseEmitter subscribe() {
+        final var emitter = new SseEmitter(0L);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(ignored -> emitters.remove(emitter));
+        emitters.add(emitter);
+        try {
+            // Flushes the response headers so subscribers know the stream is live before the first change.
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+        log.debug("Event subscriber connected, {} active.", emitters.size());
+        return emitter;
+    }
+
+    @EventListener
+    public void onEvent(MockEmployeeEvent event) {
+        final var id = Long.toString(sequence.incrementAndGet());
+        dispatcher.execute(() -> emitters.forEach(emitter -> send(emitter, id, event)));
+    }
+
+    /*
+     * Ends open streams cleanly on shutdown. Runs on ContextClosedEvent, i.e. before the web server stops, which would
+     * otherwise time the streams out with an error.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void close() {
+        dispatcher.shutdownNow();
+        emitters.forEach(SseEmitter::complete);
+        emitters.clear();
+    }
+
+    private void send(SseEmitter emitter, String id, MockEmployeeEvent event) {
+        try {
+            emitter.send(SseEmitter.event().id(id).name(event.type().name()).data(event, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping event subscriber: {}", e.getMessage());
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.store.MockEmployeeStore;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+/*
+ * Writes JSON responses carrying employees from the serialized fragments cached in MockEmployeeStore, so a listing
+ * copies bytes instead of walking every employee through Jackson again. The envelope is the same as Jackson would write
+ * for Response. Spring Boot registers converter beans ahead of the defaults; other formats (Smile, CBOR), other
+ * response types and error responses fall through to the regular Jackson converters. Smile fragments cannot simply be
+ * concatenated, since Smile refers back to property names seen earlier in the stream, which is why the api asks for
+ * JSON unless employee.server.wire-format says otherwise.
+ */
+@Component
+public class MockEmployeeJsonMessageConverter extends AbstractGenericHttpMessageConverter<Response<?>> {
+
+    private static final byte[] DATA_START = "{\"data\":".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final MockEmployeeStore mockEmployeeStore;
+    private final byte[] handledEnd;
+    private final Function<MockEmployee, byte[]> toJson = this::toJson;
+
+    public MockEmployeeJsonMessageConverter(ObjectMapper objectMapper, MockEmployeeStore mockEmployeeStore)
+            throws JsonProcessingException {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+        this.mockEmployeeStore = mockEmployeeStore;
+        this.handledEnd = (",\"status\":" + objectMapper.writeValueAsString(Response.Status.HANDLED) + "}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Response.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && carriesEmployees(type);
+    }
+
+    @Override
+    protected void writeInternal(Response<?> response, Type type, HttpOutputMessage outputMessage) throws IOException {
+        final OutputStream body = outputMessage.getBody();
+        if (response.status() != Response.Status.HANDLED
+                || response.error() != null
+                || !(response.data() instanceof MockEmployee || response.data() instanceof List<?>)) {
+            body.write(objectMapper.writeValueAsBytes(response));
+            return;
+        }
+        body.write(DATA_START);
+        if (response.data() instanceof MockEmployee employee) {
+            body.write(serialize(employee));
+        } else {
+            body.write('[');
+            boolean first = true;
+            for (final Object employee : (List<?>) response.data()) {
+                if (!first) {
+                    body.write(',');
+                }
+                body.write(serialize((MockEmployee) employee));
+                first = false;
+            }
+            body.write(']');
+        }
+        body.write(handledEnd);
+    }
+
+    @Override
+    public Response<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    @Override
+    protected Response<?> readInternal(Class<? extends Response<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    private byte[] serialize(MockEmployee employee) {
+        return mockEmployeeStore.serialized(employee, toJson);
+    }
+
+    private byte[] toJson(MockEmployee employee) {
+        try {
+            return objectMapper.writeValueAsBytes(employee);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Response<MockEmployee> or Response<List<MockEmployee>>, as declared by the handler method.
+     */
+    private static boolean carriesEmployees(Type type) {
+        if (!(type instanceof ParameterizedType response) || response.getRawType() != Response.class) {
+            return false;
+        }
+        final Type data = response.getActualTypeArguments()[0];
+        return data == MockEmployee.class
+                || (data instanceof ParameterizedType list
+                        && list.getRawType() == List.class
+                        && list.getActualTypeArguments()[0] == MockEmployee.class);
+    }
+}
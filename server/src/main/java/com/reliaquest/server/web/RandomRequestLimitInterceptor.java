@@ -7,33 +7,52 @@ import java.time.Instant;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.random.RandomGenerator;
 import lombok.Getter;
+import lombok.NonNull;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
-    private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
-    private static final Duration REQUEST_BACKOFF_DURATION =
-            Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+    @Getter
+    private final int requestLimit;
 
-    private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
+    @Getter
+    private final Duration requestBackoffDuration;
+
+    private final AtomicReference<RequestLimit> currentLimit = new AtomicReference<>(RequestLimit.init());
+
+    public RandomRequestLimitInterceptor() {
+        this(RandomGenerator.getDefault());
+    }
+
+    /*
+     * Draws the limit and backoff from the given generator, so a seeded generator always produces the same limiter.
+     */
+    public RandomRequestLimitInterceptor(@NonNull RandomGenerator random) {
+        this(random.nextInt(5, 10), Duration.ofSeconds(random.nextInt(30, 90)));
+    }
+
+    public RandomRequestLimitInterceptor(int requestLimit, @NonNull Duration requestBackoffDuration) {
+        this.requestLimit = requestLimit;
+        this.requestBackoffDuration = requestBackoffDuration;
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
+        if (currentLimit.get().getCount() >= requestLimit) {
             if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isBefore(requestLimit.get().getLastRequested())) {
+                    .minus(requestBackoffDuration)
+                    .isBefore(currentLimit.get().getLastRequested())) {
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
                 return false;
             }
             if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isAfter(requestLimit.get().getLastRequested())) {
-                requestLimit.set(RequestLimit.init());
+                    .minus(requestBackoffDuration)
+                    .isAfter(currentLimit.get().getLastRequested())) {
+                currentLimit.set(RequestLimit.init());
             }
         } else {
-            requestLimit.getAndUpdate(
+            currentLimit.getAndUpdate(
                     currentRequestLimit -> new RequestLimit(currentRequestLimit.count() + 1, Instant.now()));
         }
 
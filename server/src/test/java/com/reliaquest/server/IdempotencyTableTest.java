@@ -0,0 +1,146 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.service.IdempotencyTable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+public class IdempotencyTableTest {
+
+    private final IdempotencyTable table = new IdempotencyTable(Duration.ofHours(1), 1000);
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    public void test_sameKey_thenOperationRunsOnceAndResultIsReplayed() {
+        final var first = table.execute("key", () -> new Object[] {runs.incrementAndGet()});
+        final var second = table.execute("key", () -> new Object[] {runs.incrementAndGet()});
+
+        assertSame(first, second);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void test_duplicateWhileFirstRuns_thenWaitsForItsOutcome() throws InterruptedException {
+        final var running = new CountDownLatch(1);
+        final var finish = new CountDownLatch(1);
+        final var created = new AtomicReference<String>();
+        final var replayed = new AtomicReference<String>();
+        final var first = new Thread(() -> created.set(table.execute("key", () -> {
+            running.countDown();
+            await(finish);
+            return "created " + runs.incrementAndGet();
+        })));
+        first.start();
+        running.await();
+
+        final var duplicate = new Thread(() -> replayed.set(table.execute("key", () -> "duplicate")));
+        duplicate.start();
+        while (duplicate.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        assertEquals(null, replayed.get());
+
+        finish.countDown();
+        first.join();
+        duplicate.join();
+        assertEquals("created 1", created.get());
+        assertEquals("created 1", replayed.get());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void test_failure_thenKeyForgottenAndRetryRuns() {
+        assertThrows(
+                IllegalStateException.class,
+                () -> table.execute("key", () -> {
+                    runs.incrementAndGet();
+                    throw new IllegalStateException("upstream down");
+                }));
+        assertEquals(0, table.size());
+
+        assertEquals("created", table.execute("key", () -> {
+            runs.incrementAndGet();
+            return "created";
+        }));
+        assertEquals("created", table.execute("key", () -> "again"));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void test_duplicateOfFailure_thenGetsTheSameFailure() throws InterruptedException {
+        final var running = new CountDownLatch(1);
+        final var finish = new CountDownLatch(1);
+        final var failure = new IllegalStateException("upstream down");
+        final var first = new Thread(() -> assertThrows(
+                IllegalStateException.class,
+                () -> table.execute("key", () -> {
+                    running.countDown();
+                    await(finish);
+                    throw failure;
+                })));
+        first.start();
+        running.await();
+
+        final var thrown = new AtomicReference<Throwable>();
+        final var duplicate = new Thread(() -> {
+            try {
+                table.execute("key", () -> "duplicate");
+            } catch (RuntimeException e) {
+                thrown.set(e);
+            }
+        });
+        duplicate.start();
+        while (duplicate.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        finish.countDown();
+        first.join();
+        duplicate.join();
+
+        assertSame(failure, thrown.get());
+    }
+
+    @Test
+    public void test_concurrentInserts_thenSizeStaysWithinMaxKeys() throws InterruptedException {
+        final var maxKeys = 100;
+        final var bounded = new IdempotencyTable(Duration.ofHours(1), maxKeys);
+        final var start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final var prefix = "thread-" + t + "-";
+            final var thread = new Thread(() -> {
+                await(start);
+                for (int i = 0; i < 5000; i++) {
+                    bounded.execute(prefix + i, () -> Boolean.TRUE);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (final var thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(bounded.size() <= maxKeys, () -> "size " + bounded.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
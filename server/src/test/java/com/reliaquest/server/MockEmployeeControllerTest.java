@@ -0,0 +1,90 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.reliaquest.server.controller.MockEmployeeController;
+import com.reliaquest.server.controller.MockEmployeeControllerAdvice;
+import com.reliaquest.server.service.IdempotencyTable;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.HeapMockEmployeeStore;
+import com.reliaquest.server.web.MockEmployeeEventBroadcaster;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+public class MockEmployeeControllerTest {
+
+    private final List<Object> events = new ArrayList<>();
+
+    private final HeapMockEmployeeStore store = new HeapMockEmployeeStore(new ArrayList<>());
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        final var service = new MockEmployeeService(
+                new Faker(Locale.ENGLISH, new Random(7)),
+                events::add,
+                store,
+                new IdempotencyTable(Duration.ofHours(1), 100));
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new MockEmployeeController(service, Mockito.mock(MockEmployeeEventBroadcaster.class)))
+                .setControllerAdvice(new MockEmployeeControllerAdvice())
+                .build();
+    }
+
+    @Test
+    public void test_repeatedCreateWithSameId_thenStoredEmployeeReturned() throws Exception {
+        final var id = UUID.randomUUID();
+        create(id, "Jill Jenkins", 139082).andExpect(status().isOk());
+
+        create(id, "Jill Jenkins", 139082)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(id.toString()))
+                .andExpect(jsonPath("$.data.employee_email")
+                        .value(store.findById(id).orElseThrow().getEmail()));
+
+        assertEquals(1, store.size());
+        assertEquals(1, store.getAll().size());
+        assertEquals(1, events.size());
+        assertEquals(139082, store.salaryStats().max());
+    }
+
+    @Test
+    public void test_createWithTakenIdAndOtherInput_thenConflict() throws Exception {
+        final var id = UUID.randomUUID();
+        create(id, "Jill Jenkins", 139082).andExpect(status().isOk());
+
+        create(id, "Bill Bob", 89750)
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Employee " + id + " already exists"));
+
+        assertEquals("Jill Jenkins", store.findById(id).orElseThrow().getName());
+        assertEquals(1, store.getAll().size());
+        assertEquals(1, events.size());
+    }
+
+    private ResultActions create(UUID id, String name, int salary) throws Exception {
+        return mockMvc.perform(post("/api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                        {"id": "%s", "name": "%s", "salary": %d, "age": 48, "title": "Financial Advisor"}
+                        """
+                                .formatted(id, name, salary)));
+    }
+}
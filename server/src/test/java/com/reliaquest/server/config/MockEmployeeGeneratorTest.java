@@ -0,0 +1,58 @@
+package com.reliaquest.server.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class MockEmployeeGeneratorTest {
+
+    private static final int EMPLOYEES = 20_000;
+
+    @Test
+    public void test_sameSeed_thenSameEmployees() {
+        final var expected = generator(42).generate(EMPLOYEES);
+
+        assertEquals(EMPLOYEES, expected.size());
+        assertEquals(expected, generator(42).generate(EMPLOYEES));
+        assertNotEquals(expected, generator(43).generate(EMPLOYEES));
+    }
+
+    @Test
+    public void test_generatedConcurrently_thenSameEmployees() {
+        final var expected = generator(42).generate(EMPLOYEES);
+
+        // several builds at once share the common pool, so each one's records are spread over different threads
+        final var builds = IntStream.range(0, 4)
+                .mapToObj(ignored ->
+                        CompletableFuture.supplyAsync(() -> generator(42).generate(EMPLOYEES)))
+                .toList();
+        for (final var build : builds) {
+            assertEquals(expected, build.join());
+        }
+    }
+
+    @Test
+    public void test_generatedInChunksOrOneByOne_thenSameEmployees() {
+        final var generator = generator(42);
+        final var expected = generator.generate(EMPLOYEES);
+
+        final List<MockEmployee> chunked = new ArrayList<>();
+        for (int from = 0; from < EMPLOYEES; from += 3_000) {
+            chunked.addAll(generator.generate(from, Math.min(from + 3_000, EMPLOYEES)));
+        }
+        assertEquals(expected, chunked);
+        assertEquals(
+                expected,
+                IntStream.range(0, EMPLOYEES).mapToObj(generator::employee).toList());
+    }
+
+    private static MockEmployeeGenerator generator(long seed) {
+        return new ServerConfiguration(seed).mockEmployeeGenerator(64);
+    }
+}
@@ -0,0 +1,183 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Page;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/*
+ * Runs the same writes against both store implementations and expects every read to agree.
+ */
+public class MockEmployeeStoreTest {
+
+    private static final int EMPLOYEES = 300;
+
+    private MockEmployeeStore heap;
+    private MockEmployeeStore offHeap;
+    private int nextId;
+
+    @BeforeEach
+    public void setUp() {
+        // a small pool repeats names, so the name index holds runs of equal names
+        final var generator = new MockEmployeeGenerator(new Faker(Locale.ENGLISH, new Random(7)), 7, 8);
+        heap = new HeapMockEmployeeStore(generator.generate(EMPLOYEES));
+        offHeap = new OffHeapMockEmployeeStore(generator, EMPLOYEES);
+    }
+
+    @Test
+    public void test_generatedDataset_thenStoresAgree() {
+        assertSameReads();
+    }
+
+    @Test
+    public void test_mixedCaseNames_thenRemovedInArrivalOrder() {
+        final var first = employee("Ada Lovelace", 120000);
+        add(first);
+        add(employee("ADA LOVELACE", 90000));
+        add(employee("ada lovelace", null));
+        add(employee("Ada Lovelaces", 80000));
+
+        assertEquals(Optional.of(first), remove("ada LOVELACE"));
+        assertEquals("ADA LOVELACE", remove("Ada Lovelace").orElseThrow().getName());
+        assertEquals("ada lovelace", remove("ADA lovelace").orElseThrow().getName());
+        assertEquals(Optional.empty(), remove("Ada Lovelace"));
+        assertEquals(1, heap.searchByName("Lovelace").size());
+        assertSameReads();
+    }
+
+    @Test
+    public void test_duplicateGeneratedNames_thenEarliestRemovedFirst() {
+        final var all = heap.getAll();
+        final var duplicate = all.stream()
+                .filter(employee -> all.stream()
+                                .filter(other -> other.getName().equals(employee.getName()))
+                                .count()
+                        > 2)
+                .findFirst()
+                .orElseThrow();
+        final var earliest = all.stream()
+                .filter(employee -> employee.getName().equals(duplicate.getName()))
+                .toList();
+
+        for (final var expected : earliest) {
+            assertEquals(
+                    Optional.of(expected), remove(expected.getName().toUpperCase(Locale.ROOT)), expected.getName());
+            assertSameReads();
+        }
+    }
+
+    @Test
+    public void test_deleteThenCreate_thenFreedSlotsReused() {
+        final var removed = new ArrayList<MockEmployee>();
+        for (final var employee : List.copyOf(heap.getAll()).subList(0, 50)) {
+            removed.add(remove(employee.getName()).orElseThrow());
+        }
+        final var created = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 60; i++) {
+            final var employee = employee("Created " + (i % 7), i % 10 == 0 ? null : 40000 + i * 1000);
+            add(employee);
+            created.add(employee);
+        }
+
+        assertEquals(EMPLOYEES + 10, offHeap.size());
+        for (final var employee : removed) {
+            assertEquals(Optional.empty(), offHeap.findById(employee.getId()));
+        }
+        for (final var employee : created) {
+            assertEquals(Optional.of(employee), offHeap.findById(employee.getId()));
+        }
+        assertEquals(created, offHeap.getAll().subList(EMPLOYEES - 50, EMPLOYEES + 10));
+        assertSameReads();
+    }
+
+    @Test
+    public void test_addTakenId_thenFirstEmployeeKept() {
+        final var first = employee("Ada Lovelace", 120000);
+        add(first);
+        final var clash = first.toBuilder().name("Grace Hopper").salary(1).build();
+
+        assertEquals(first, heap.addIfAbsent(clash));
+        assertEquals(first, offHeap.addIfAbsent(clash));
+        assertEquals(EMPLOYEES + 1, offHeap.size());
+        assertEquals(Optional.of(first), offHeap.findById(first.getId()));
+        assertEquals(List.of(), offHeap.searchByName("Grace"));
+        assertSameReads();
+    }
+
+    @Test
+    public void test_allRemoved_thenEmptyStats() {
+        for (final var employee : List.copyOf(heap.getAll())) {
+            remove(employee.getName());
+        }
+
+        assertEquals(0, offHeap.size());
+        assertEquals(0, offHeap.salaryStats().count());
+        assertSameReads();
+    }
+
+    private void add(MockEmployee employee) {
+        assertSame(employee, heap.addIfAbsent(employee));
+        assertSame(employee, offHeap.addIfAbsent(employee));
+    }
+
+    private Optional<MockEmployee> remove(String name) {
+        final var removed = heap.removeFirstByName(name);
+        assertEquals(removed, offHeap.removeFirstByName(name), name);
+        return removed;
+    }
+
+    private MockEmployee employee(String name, Integer salary) {
+        return MockEmployee.builder()
+                .id(new UUID(0x5EED, nextId++))
+                .name(name)
+                .salary(salary)
+                .age(30)
+                .title("Engineer")
+                .email("test@company.com")
+                .build();
+    }
+
+    private void assertSameReads() {
+        assertEquals(heap.size(), offHeap.size());
+        assertEquals(heap.getAll(), offHeap.getAll());
+        for (final var employee : heap.getAll()) {
+            assertEquals(Optional.of(employee), offHeap.findById(employee.getId()));
+        }
+        for (final var sort : MockEmployeeSort.values()) {
+            assertEquals(heap.top(sort, 10), offHeap.top(sort, 10), sort.name());
+            for (final boolean descending : new boolean[] {false, true}) {
+                final var pages = pages(heap, sort, descending);
+                assertEquals(pages, pages(offHeap, sort, descending), sort + " descending=" + descending);
+                assertEquals(
+                        heap.size(),
+                        pages.stream().mapToInt(page -> page.items().size()).sum());
+            }
+        }
+        for (final var fragment : List.of("a", "A", "Ada", "ovel", "Created", "zzz")) {
+            assertEquals(heap.searchByName(fragment), offHeap.searchByName(fragment), fragment);
+        }
+        assertEquals(heap.salaryStats(), offHeap.salaryStats());
+    }
+
+    private static List<Page<MockEmployee>> pages(MockEmployeeStore store, MockEmployeeSort sort, boolean descending) {
+        final var pages = new ArrayList<Page<MockEmployee>>();
+        String cursor = null;
+        do {
+            final var page = store.page(sort, descending, cursor, 17);
+            pages.add(page);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return pages;
+    }
+}
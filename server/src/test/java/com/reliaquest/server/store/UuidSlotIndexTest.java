@@ -0,0 +1,127 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class UuidSlotIndexTest {
+
+    /*
+     * Ids hash on msb ^ lsb, so every id with the same xor lands on the same home slot whatever the table size.
+     */
+    private static UUID colliding(long xor, long n) {
+        return new UUID(n, n ^ xor);
+    }
+
+    @Test
+    public void test_collidingKeys_thenAllFound() {
+        final var index = new UuidSlotIndex(16);
+        for (int n = 0; n < 10; n++) {
+            put(index, colliding(0, n), n);
+        }
+
+        assertEquals(10, index.size());
+        for (int n = 0; n < 10; n++) {
+            assertEquals(n, get(index, colliding(0, n)));
+        }
+        assertEquals(-1, get(index, colliding(0, 10)));
+    }
+
+    @Test
+    public void test_removeMiddleOfProbeRun_thenLaterEntriesStillFound() {
+        final var index = new UuidSlotIndex(16);
+        for (int n = 0; n < 10; n++) {
+            put(index, colliding(0, n), n);
+        }
+
+        assertTrue(remove(index, colliding(0, 4)));
+        assertFalse(remove(index, colliding(0, 4)));
+
+        assertEquals(9, index.size());
+        assertEquals(-1, get(index, colliding(0, 4)));
+        for (int n = 0; n < 10; n++) {
+            if (n != 4) {
+                assertEquals(n, get(index, colliding(0, n)));
+            }
+        }
+        put(index, colliding(0, 4), 40);
+        assertEquals(40, get(index, colliding(0, 4)));
+        assertEquals(10, index.size());
+    }
+
+    @Test
+    public void test_removeFromOneProbeRun_thenOtherRunStillFound() {
+        final var index = new UuidSlotIndex(16);
+        // two runs of colliding keys; removing from one must not strand the other wherever they meet
+        for (int n = 0; n < 6; n++) {
+            put(index, colliding(1, n), n);
+            put(index, colliding(2, n), 100 + n);
+        }
+
+        for (int n = 0; n < 6; n += 2) {
+            assertTrue(remove(index, colliding(1, n)));
+        }
+
+        for (int n = 0; n < 6; n++) {
+            assertEquals(n % 2 == 0 ? -1 : n, get(index, colliding(1, n)));
+            assertEquals(100 + n, get(index, colliding(2, n)));
+        }
+    }
+
+    @Test
+    public void test_put_thenExistingSlotReplaced() {
+        final var index = new UuidSlotIndex(16);
+        put(index, colliding(0, 1), 1);
+        put(index, colliding(0, 1), 2);
+
+        assertEquals(1, index.size());
+        assertEquals(2, get(index, colliding(0, 1)));
+    }
+
+    @Test
+    public void test_randomOperations_thenMatchesHashMap() {
+        final var random = new Random(42);
+        final var index = new UuidSlotIndex(16);
+        final var expected = new HashMap<UUID, Integer>();
+        final List<UUID> keys = new ArrayList<>();
+        for (int n = 0; n < 200; n++) {
+            // a few hash classes make long clusters that removals have to shift entries through
+            keys.add(colliding(random.nextInt(4), n));
+        }
+
+        for (int step = 0; step < 20_000; step++) {
+            final var key = keys.get(random.nextInt(keys.size()));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, remove(index, key));
+            } else {
+                put(index, key, step);
+                expected.put(key, step);
+            }
+            assertEquals(expected.size(), index.size());
+            if (step % 100 == 0) {
+                for (final var id : keys) {
+                    assertEquals(expected.getOrDefault(id, -1), get(index, id), id.toString());
+                }
+            }
+        }
+    }
+
+    private static void put(UuidSlotIndex index, UUID id, int slot) {
+        index.put(id.getMostSignificantBits(), id.getLeastSignificantBits(), slot);
+    }
+
+    private static int get(UuidSlotIndex index, UUID id) {
+        return index.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    private static boolean remove(UuidSlotIndex index, UUID id) {
+        return index.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+}
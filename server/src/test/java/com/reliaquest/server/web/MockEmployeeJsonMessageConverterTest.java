@@ -0,0 +1,110 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.store.HeapMockEmployeeStore;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+public class MockEmployeeJsonMessageConverterTest {
+
+    private static final Type EMPLOYEE = ResolvableType.forClassWithGenerics(Response.class, MockEmployee.class)
+            .getType();
+    private static final Type EMPLOYEES = ResolvableType.forClassWithGenerics(
+                    Response.class, ResolvableType.forClassWithGenerics(List.class, MockEmployee.class))
+            .getType();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private HeapMockEmployeeStore store;
+    private MockEmployeeJsonMessageConverter converter;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        final var generator = new MockEmployeeGenerator(new Faker(Locale.ENGLISH, new Random(7)), 7, 16);
+        store = new HeapMockEmployeeStore(generator.generate(50));
+        converter = new MockEmployeeJsonMessageConverter(objectMapper, store);
+    }
+
+    @Test
+    public void test_list_thenSameBytesAsJackson() throws Exception {
+        final var expected = objectMapper.writeValueAsBytes(Response.handledWith(store.getAll()));
+
+        assertArrayEquals(expected, write(Response.handledWith(store.getAll()), EMPLOYEES));
+        // the second time every employee comes from the cache
+        assertArrayEquals(expected, write(Response.handledWith(store.getAll()), EMPLOYEES));
+        assertArrayEquals(
+                objectMapper.writeValueAsBytes(Response.handledWith(List.of())),
+                write(Response.handledWith(List.of()), EMPLOYEES));
+    }
+
+    @Test
+    public void test_employee_thenSameBytesAsJackson() throws Exception {
+        final var employee = store.getAll().get(3);
+
+        for (int i = 0; i < 2; i++) {
+            assertArrayEquals(
+                    objectMapper.writeValueAsBytes(Response.handledWith(employee)),
+                    write(Response.handledWith(employee), EMPLOYEE));
+        }
+        assertArrayEquals(
+                objectMapper.writeValueAsBytes(Response.error("Not found")),
+                write(Response.error("Not found"), EMPLOYEE));
+    }
+
+    @Test
+    public void test_delete_thenCachedFragmentDropped() throws Exception {
+        final var employee = store.getAll().get(3);
+        final var serializations = new AtomicInteger();
+        final Function<MockEmployee, byte[]> counting = ignored -> {
+            serializations.incrementAndGet();
+            return new byte[0];
+        };
+        write(Response.handledWith(employee), EMPLOYEE);
+        store.serialized(employee, counting);
+        assertEquals(0, serializations.get());
+
+        store.removeFirstByName(employee.getName());
+        store.serialized(employee, counting);
+        assertEquals(1, serializations.get());
+
+        // a new employee under the same id must not be written from the removed one's bytes
+        final var replacement = employee.toBuilder().name("Grace Hopper").build();
+        store.addIfAbsent(replacement);
+        final var written = write(Response.handledWith(store.getAll()), EMPLOYEES);
+        assertArrayEquals(objectMapper.writeValueAsBytes(Response.handledWith(store.getAll())), written);
+        assertTrue(new String(written).contains("Grace Hopper"));
+    }
+
+    @Test
+    public void test_otherFormats_thenLeftToJackson() {
+        assertTrue(converter.canWrite(EMPLOYEES, Response.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(EMPLOYEES, Response.class, MediaType.valueOf("application/x-jackson-smile")));
+        assertFalse(converter.canWrite(EMPLOYEES, Response.class, MediaType.valueOf("application/cbor")));
+        assertFalse(converter.canWrite(Response.class, Response.class, MediaType.APPLICATION_JSON));
+    }
+
+    private byte[] write(Response<?> response, Type type) throws Exception {
+        final var message = new MockHttpOutputMessage();
+        converter.write(response, type, MediaType.APPLICATION_JSON, message);
+        return message.getBodyAsBytes();
+    }
+}
@@ -0,0 +1,147 @@
+package com.reliaquest.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.exporter.FinishedSpan;
+import io.micrometer.tracing.exporter.SpanReporter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * In-memory span exporter used by both the api and the mock server. Spans are grouped by trace until the trace's local
+ * root finishes, i.e. the span with no parent in this process, which for a request is the http.server.requests span. A
+ * request from the api carries its trace context, so the mock server records its part under the same trace id. The last
+ * {@code capacity} completed traces are kept and can be listed slowest first, each with the time it spent per stage:
+ * the self time of every span (its duration less that of its children) summed by span name.
+ *
+ * <p>Each application declares it as a bean, with the capacity taken from {@code employee.tracing.capacity} in the api
+ * and {@code mock.tracing.capacity} in the mock server.
+ */
+public class TraceRecorder implements SpanReporter {
+
+    private final int capacity;
+    private final Map<String, List<FinishedSpan>> pending;
+    private final ArrayDeque<Trace> completed = new ArrayDeque<>();
+
+    public TraceRecorder(int capacity) {
+        this.capacity = capacity;
+        this.pending = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<FinishedSpan>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public void report(FinishedSpan span) {
+        List<FinishedSpan> spans;
+        synchronized (this) {
+            spans = pending.computeIfAbsent(span.getTraceId(), ignored -> new ArrayList<>());
+            spans.add(span);
+            if (!isLocalRoot(span)) {
+                return;
+            }
+            pending.remove(span.getTraceId());
+        }
+        Trace trace = Trace.of(span, spans);
+        synchronized (this) {
+            completed.addLast(trace);
+            if (completed.size() > capacity) {
+                completed.removeFirst();
+            }
+        }
+    }
+
+    public synchronized List<Trace> slowest(int limit) {
+        return completed.stream()
+                .sorted(Comparator.comparing(Trace::durationMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public synchronized Optional<Trace> find(String traceId) {
+        return completed.stream()
+                .filter(trace -> trace.traceId().equals(traceId))
+                .findFirst();
+    }
+
+    /* Forgets every trace recorded so far, e.g. those of warm-up requests. */
+    public synchronized void clear() {
+        pending.clear();
+        completed.clear();
+    }
+
+    @Override
+    public void close() {}
+
+    /* A server span continues a trace from another process, so it is the root of this process's part of it. */
+    private static boolean isLocalRoot(FinishedSpan span) {
+        return span.getParentId() == null || span.getKind() == Span.Kind.SERVER;
+    }
+
+    public record Trace(
+            String traceId,
+            String name,
+            Instant start,
+            double durationMillis,
+            Map<String, Double> stages,
+            List<SpanSummary> spans) {
+
+        static Trace of(FinishedSpan root, List<FinishedSpan> spans) {
+            Map<String, Double> childMillis = new HashMap<>();
+            for (FinishedSpan span : spans) {
+                if (span.getParentId() != null) {
+                    childMillis.merge(span.getParentId(), millis(span), Double::sum);
+                }
+            }
+            Map<String, Double> stages = new TreeMap<>();
+            List<SpanSummary> summaries = new ArrayList<>();
+            for (FinishedSpan span : spans) {
+                /* Children that ran in parallel can add up to more than their parent. */
+                double self = Math.max(0, millis(span) - childMillis.getOrDefault(span.getSpanId(), 0.0));
+                stages.merge(span.getName(), self, Double::sum);
+                summaries.add(new SpanSummary(
+                        span.getSpanId(),
+                        span.getParentId(),
+                        span.getName(),
+                        Duration.between(root.getStartTimestamp(), span.getStartTimestamp())
+                                        .toNanos()
+                                / 1e6,
+                        millis(span),
+                        self,
+                        span.getTags()));
+            }
+            summaries.sort(Comparator.comparing(SpanSummary::offsetMillis));
+            return new Trace(
+                    root.getTraceId(), root.getName(), root.getStartTimestamp(), millis(root), stages, summaries);
+        }
+
+        Trace withoutSpans() {
+            return new Trace(traceId, name, start, durationMillis, stages, List.of());
+        }
+
+        private static double millis(FinishedSpan span) {
+            return Duration.between(span.getStartTimestamp(), span.getEndTimestamp())
+                            .toNanos()
+                    / 1e6;
+        }
+    }
+
+    public record SpanSummary(
+            String spanId,
+            String parentId,
+            String name,
+            double offsetMillis,
+            double durationMillis,
+            double selfMillis,
+            Map<String, String> tags) {}
+}
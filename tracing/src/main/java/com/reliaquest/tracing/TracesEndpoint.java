@@ -0,0 +1,33 @@
+package com.reliaquest.tracing;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code /actuator/traces} lists the slowest recent traces with their per-stage breakdown, {@code ?limit=} of them
+ * (10 by default). {@code /actuator/traces/{traceId}} shows one trace span by span.
+ */
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private final TraceRecorder recorder;
+
+    public TracesEndpoint(TraceRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public List<TraceRecorder.Trace> slowest(@Nullable Integer limit) {
+        return recorder.slowest(limit == null ? 10 : limit).stream()
+                .map(TraceRecorder.Trace::withoutSpans)
+                .toList();
+    }
+
+    @ReadOperation
+    public TraceRecorder.Trace trace(@Selector String traceId) {
+        return recorder.find(traceId).orElse(null);
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.exporter.FinishedSpan;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class TraceRecorderTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static FinishedSpan span(
+            String traceId, String spanId, String parentId, Span.Kind kind, String name, long from, long to) {
+        FinishedSpan span = mock(FinishedSpan.class);
+        when(span.getTraceId()).thenReturn(traceId);
+        when(span.getSpanId()).thenReturn(spanId);
+        when(span.getParentId()).thenReturn(parentId);
+        when(span.getKind()).thenReturn(kind);
+        when(span.getName()).thenReturn(name);
+        when(span.getStartTimestamp()).thenReturn(START.plusMillis(from));
+        when(span.getEndTimestamp()).thenReturn(START.plusMillis(to));
+        when(span.getTags()).thenReturn(Map.of());
+        return span;
+    }
+
+    @Test
+    public void test_rootFinishes_thenTraceIsRecordedWithSelfTimePerStage() {
+        TraceRecorder recorder = new TraceRecorder(10);
+
+        /* Children finish first; the server span continues a trace started by a remote caller. */
+        recorder.report(span("t1", "c1", "s1", Span.Kind.CLIENT, "http get", 10, 40));
+        recorder.report(span("t1", "c2", "s1", Span.Kind.CLIENT, "http get", 50, 70));
+        recorder.report(span("t1", "b1", "s1", Span.Kind.CLIENT, "employee.retry.backoff", 40, 50));
+        assertTrue(recorder.slowest(10).isEmpty());
+        recorder.report(span("t1", "s1", "remote", Span.Kind.SERVER, "http get /search", 0, 80));
+
+        TraceRecorder.Trace trace = recorder.find("t1").orElseThrow();
+        assertEquals(80.0, trace.durationMillis());
+        assertEquals(
+                Map.of("http get", 50.0, "employee.retry.backoff", 10.0, "http get /search", 20.0), trace.stages());
+        assertEquals(
+                List.of("s1", "c1", "b1", "c2"),
+                trace.spans().stream().map(TraceRecorder.SpanSummary::spanId).toList());
+    }
+
+    @Test
+    public void test_slowest_thenOrderedByDurationAndBoundedByCapacity() {
+        TraceRecorder recorder = new TraceRecorder(3);
+
+        long[] durations = {5, 50, 20, 40, 10};
+        for (int i = 0; i < durations.length; i++) {
+            recorder.report(span("t" + i, "s" + i, null, Span.Kind.SERVER, "http get", 0, durations[i]));
+        }
+
+        assertEquals(
+                List.of("t3", "t2", "t4"),
+                recorder.slowest(10).stream().map(TraceRecorder.Trace::traceId).toList());
+        assertEquals(
+                List.of("t3"),
+                recorder.slowest(1).stream().map(TraceRecorder.Trace::traceId).toList());
+    }
+}